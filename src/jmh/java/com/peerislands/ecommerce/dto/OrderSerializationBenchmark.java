@@ -0,0 +1,69 @@
+package com.peerislands.ecommerce.dto;
+
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderItem;
+import com.peerislands.ecommerce.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a page of orders to a discarding stream, as {@code GET /api/v1/orders} does. {@code dtoCopy} is
+ * the old path (map every order to {@link OrderResponse}, then let the mapper introspect it); {@code direct}
+ * writes the domain orders through {@link OrderJsonSerializer}. Run with {@code -prof gc} for bytes/op;
+ * sample mode reports p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int orders;
+
+    @Param({"3"})
+    public int lines;
+
+    private final JsonMapper plainMapper = JsonMapper.builder().build();
+    private final JsonMapper directMapper = JsonMapper.builder()
+            .addModule(new SimpleModule().addSerializer(Order.class, new OrderJsonSerializer()))
+            .build();
+
+    private Page<Order> page;
+
+    @Setup
+    public void setUp() {
+        List<Order> content = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            List<OrderItem> items = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                items.add(new OrderItem("PROD-" + i, i + 1, new BigDecimal("25.00")));
+            }
+            content.add(new Order(UUID.randomUUID(), "bench-customer", OrderStatus.PENDING, items, LocalDateTime.now()));
+        }
+        page = new PageImpl<>(content);
+    }
+
+    @Benchmark
+    public void dtoCopy() {
+        plainMapper.writeValue(OutputStream.nullOutputStream(), new PagedResponse<>(page.map(OrderResponse::from)));
+    }
+
+    @Benchmark
+    public void direct() {
+        directMapper.writeValue(OutputStream.nullOutputStream(), new PagedResponse<>(page));
+    }
+}
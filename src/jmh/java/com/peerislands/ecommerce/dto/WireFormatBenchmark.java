@@ -0,0 +1,79 @@
+package com.peerislands.ecommerce.dto;
+
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderItem;
+import com.peerislands.ecommerce.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs CBOR for a page of orders as served by {@code GET /api/v1/orders}: {@code encode} is the server
+ * writing the page, {@code decode} is a client reading it back into {@link OrderResponse}s. The encoded
+ * payload size of each format is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<PagedResponse<OrderResponse>> PAGE = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"100"})
+    public int orders;
+
+    private ObjectMapper mapper;
+    private PagedResponse<Order> page;
+    private byte[] payload;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup
+    public void setUp() {
+        SimpleModule module = new SimpleModule().addSerializer(Order.class, new OrderJsonSerializer());
+        mapper = "cbor".equals(format)
+                ? CBORMapper.builder().addModule(module).build()
+                : JsonMapper.builder().addModule(module).build();
+
+        List<Order> content = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            List<OrderItem> items = List.of(
+                    new OrderItem("PROD-1", 1, new BigDecimal("25.00")),
+                    new OrderItem("PROD-2", 2, new BigDecimal("150.00")),
+                    new OrderItem("PROD-3", 1, new BigDecimal("999.00")));
+            content.add(new Order(UUID.randomUUID(), "customer-" + o, OrderStatus.PENDING, items, LocalDateTime.now()));
+        }
+        page = new PagedResponse<>(new PageImpl<>(content));
+        payload = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s payload for %d orders: %d bytes%n", format, orders, payload.length);
+    }
+
+    @Benchmark
+    public int encode() {
+        out.reset();
+        mapper.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public PagedResponse<OrderResponse> decode() {
+        return mapper.readValue(payload, PAGE);
+    }
+}
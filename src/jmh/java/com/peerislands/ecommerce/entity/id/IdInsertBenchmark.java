@@ -0,0 +1,81 @@
+package com.peerislands.ecommerce.entity.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert rate into a UUID-keyed table that keeps growing during the run, comparing random v4
+ * keys with time-ordered v7 keys. Uses plain JDBC so only the index behaviour differs. By default
+ * it runs on in-memory H2, where every index page stays in memory. Point {@code url} at PostgreSQL and
+ * {@code preload} enough rows that the table and its primary key outgrow {@code shared_buffers} to
+ * see the page misses that random keys cause:
+ * <pre>
+ * -p url=jdbc:postgresql://localhost:5432/bench?user=bench&amp;password=bench&amp;reWriteBatchedInserts=true
+ * -p preload=4000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdInsertBenchmark {
+
+    private static final int BATCH = 500;
+
+    @Param({"TIME_ORDERED", "RANDOM"})
+    public UuidStrategy strategy;
+
+    /** JDBC URL of the database under test, credentials included. */
+    @Param({"jdbc:h2:mem:ids;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    /** Rows inserted with the same strategy before the warmup starts. */
+    @Param({"0"})
+    public int preload;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists id_bench_orders");
+            ddl.execute("create table id_bench_orders (id uuid primary key, customer_id varchar(64) not null, created_at timestamp not null)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into id_bench_orders (id, customer_id, created_at) values (?, 'bench', current_timestamp)");
+        for (int rows = 0; rows < preload; rows += BATCH) {
+            insertBatch();
+        }
+    }
+
+    /** One committed batch of {@value #BATCH} rows; multiply the score by the batch size for rows per second. */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, strategy.next());
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table id_bench_orders");
+            connection.commit();
+        }
+        connection.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogLookupBenchmark {
+
+    private static final int SNAPSHOT_SKUS = 1_000_000;
+
+    private InMemoryCatalogServiceImpl catalogService;
+    private CatalogSnapshot snapshot;
+    private Path snapshotFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogService = new InMemoryCatalogServiceImpl();
+        catalogService.init();
+
+        List<Product> products = new ArrayList<>(SNAPSHOT_SKUS);
+        for (int i = 0; i < SNAPSHOT_SKUS; i++) {
+            products.add(new Product("SKU-" + i, "Product family " + (i % 1000), BigDecimal.valueOf(100 + i % 10_000, 2)));
+        }
+        snapshotFile = Files.createTempFile("catalog", ".snap");
+        CatalogSnapshot.write(products, snapshotFile);
+        snapshot = CatalogSnapshot.open(snapshotFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public Product getProduct() {
+        return catalogService.getProduct("PROD-2");
+    }
+
+    /** Binary search over a one-million-SKU mapped snapshot, decoding only the hit. */
+    @Benchmark
+    public Product findInSnapshot() {
+        return snapshot.find("SKU-654321");
+    }
+}
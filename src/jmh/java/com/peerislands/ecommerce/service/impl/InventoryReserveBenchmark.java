@@ -0,0 +1,69 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class InventoryReserveBenchmark {
+
+    private static final int SKU_COUNT = 1024;
+
+    @Param({"in-memory", "striped", "mapped"})
+    public String engine;
+
+    private InventoryService inventoryService;
+    private String[] skus;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, Integer> stock = new LinkedHashMap<>();
+        skus = new String[SKU_COUNT];
+        for (int i = 0; i < SKU_COUNT; i++) {
+            skus[i] = "SKU-" + i;
+            stock.put(skus[i], Integer.MAX_VALUE / 2);
+        }
+
+        if ("mapped".equals(engine)) {
+            MappedInventoryServiceImpl mapped = new MappedInventoryServiceImpl(Files.createTempDirectory("inventory-bench"), 1 << 20);
+            mapped.init();
+            mapped.load(stock);
+            inventoryService = mapped;
+        } else if ("striped".equals(engine)) {
+            StripedInventoryServiceImpl striped = new StripedInventoryServiceImpl();
+            striped.load(stock);
+            inventoryService = striped;
+        } else {
+            InMemoryInventoryServiceImpl inMemory = new InMemoryInventoryServiceImpl();
+            inMemory.load(stock);
+            inventoryService = inMemory;
+        }
+    }
+
+    /** Every thread reserves and releases the same SKU. */
+    @Benchmark
+    public void hotSku() {
+        inventoryService.reserveStock(skus[0], 1);
+        inventoryService.releaseStock(skus[0], 1);
+    }
+
+    /** Threads spread their reservations over {@value #SKU_COUNT} SKUs. */
+    @Benchmark
+    public void spreadSkus() {
+        String sku = skus[ThreadLocalRandom.current().nextInt(SKU_COUNT)];
+        inventoryService.reserveStock(sku, 1);
+        inventoryService.releaseStock(sku, 1);
+    }
+}
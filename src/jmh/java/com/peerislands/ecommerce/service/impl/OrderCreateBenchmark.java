@@ -0,0 +1,57 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.EcommerceApplication;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.service.InventoryService;
+import com.peerislands.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code createOrder} against the H2 profile. Stock is handed back after every
+ * call so the seeded counts never run out; the release is part of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private InventoryService inventoryService;
+    private CreateOrderCommand command;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        inventoryService = context.getBean(InventoryService.class);
+        command = new CreateOrderCommand("bench-customer", List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 2),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 1)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        Order order = orderService.createOrder(command);
+        inventoryService.releaseAll(command.items());
+        return order;
+    }
+}
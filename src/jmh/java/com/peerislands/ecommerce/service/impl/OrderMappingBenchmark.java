@@ -0,0 +1,81 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.dto.OrderJsonSerializer;
+import com.peerislands.ecommerce.dto.OrderResponse;
+import com.peerislands.ecommerce.entity.OrderEntity;
+import com.peerislands.ecommerce.entity.OrderItemEntity;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps one order of {@code lines} items on both sides of the service: {@code mapToDomain} is the
+ * entity-to-domain step, {@code mapToResponse} the old per-order {@link OrderResponse} copy and
+ * {@code writeResponse} what a response now does, writing the domain order through
+ * {@link OrderJsonSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "20"})
+    public int lines;
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .addModule(new SimpleModule().addSerializer(Order.class, new OrderJsonSerializer()))
+            .build();
+
+    private OrderEntity entity;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(OrderItemEntity.builder()
+                    .id(UUID.randomUUID())
+                    .productId("PROD-" + i)
+                    .quantity(i + 1)
+                    .price(new BigDecimal("25.00"))
+                    .build());
+        }
+        entity = OrderEntity.builder()
+                .id(UUID.randomUUID())
+                .customerId("bench-customer")
+                .status(OrderStatus.PENDING)
+                .items(items)
+                .createdAt(LocalDateTime.now())
+                .version(0)
+                .build();
+        order = OrderServiceImpl.mapToDomain(entity);
+    }
+
+    @Benchmark
+    public Order mapToDomain() {
+        return OrderServiceImpl.mapToDomain(entity);
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return OrderResponse.from(order);
+    }
+
+    @Benchmark
+    public void writeResponse() {
+        mapper.writeValue(OutputStream.nullOutputStream(), order);
+    }
+}
@@ -0,0 +1,81 @@
+package com.peerislands.ecommerce.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Takes a {@link DatabaseBulkhead} permit per connection and gives it back when the connection is closed. */
+class BulkheadDataSource extends DelegatingDataSource {
+
+    private final DatabaseBulkhead bulkhead;
+
+    BulkheadDataSource(DataSource target, DatabaseBulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        bulkhead.acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException | Error e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        bulkhead.acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException | Error e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    private Connection guard(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new PermitReleasingHandler(target, bulkhead));
+    }
+
+    private record PermitReleasingHandler(Connection target, DatabaseBulkhead bulkhead, AtomicBoolean closed)
+            implements InvocationHandler {
+
+        PermitReleasingHandler(Connection target, DatabaseBulkhead bulkhead) {
+            this(target, bulkhead, new AtomicBoolean());
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("isClosed") && closed.get()) {
+                return true;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if (name.equals("close") && closed.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.peerislands.ecommerce.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Serves and accepts {@code application/cbor} next to JSON, for service-to-service callers. The converter
+ * uses Boot's {@link CBORMapper}, which carries the same {@code @JacksonComponent}s as the JSON mapper, so
+ * orders are written by {@link com.peerislands.ecommerce.dto.OrderJsonSerializer} in both formats. JSON stays
+ * first in the converter list and remains the default when the client does not ask for CBOR. The schema
+ * is published at {@code /schema/orders.cddl}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CborConfiguration {
+
+    @Bean
+    ServerHttpMessageConvertersCustomizer cborMessageConverter(CBORMapper cborMapper) {
+        return converters -> converters.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
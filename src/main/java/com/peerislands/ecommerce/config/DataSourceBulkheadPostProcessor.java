@@ -0,0 +1,32 @@
+package com.peerislands.ecommerce.config;
+
+import com.peerislands.ecommerce.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link DatabaseBulkhead} in front of the application's {@code dataSource}, where JPA transactions take
+ * their connection. When replica routing is on, {@link com.peerislands.ecommerce.datasource.ReplicaDataSourceConfiguration}
+ * guards only the primary pool behind it, so replica reads are not counted against the primary's permits.
+ */
+@Component
+public class DataSourceBulkheadPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DatabaseBulkhead> bulkhead;
+
+    public DataSourceBulkheadPostProcessor(ObjectProvider<DatabaseBulkhead> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                || bean instanceof ReplicaRoutingDataSource) {
+            return bean;
+        }
+        return bulkhead.getObject().wrap(dataSource);
+    }
+}
@@ -0,0 +1,70 @@
+package com.peerislands.ecommerce.config;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrently held primary connections at {@code orders.bulkhead.permits}. A permit is taken when a
+ * connection is obtained and returned when it is closed, so a transaction holds one for its whole span,
+ * however many repository calls it makes. With virtual threads there can be thousands of in-flight
+ * requests; past the cap they wait up to {@code acquire-timeout} here instead of piling onto the
+ * connection pool, then fail fast with {@link ErrorCode#SERVICE_BUSY}.
+ */
+@Component
+public class DatabaseBulkhead implements MeterBinder {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private Counter rejected;
+
+    public DatabaseBulkhead(DatabaseBulkheadProperties properties) {
+        this.permits = new Semaphore(properties.permits());
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+    }
+
+    /** Returns {@code target} with every connection it hands out guarded by this bulkhead. */
+    public DataSource wrap(DataSource target) {
+        return target instanceof BulkheadDataSource ? target : new BulkheadDataSource(target, this);
+    }
+
+    void acquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (rejected != null) {
+            rejected.increment();
+        }
+        throw new BusinessException(ErrorCode.SERVICE_BUSY, "Database bulkhead is full");
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free connection permits")
+                .register(registry);
+        rejected = Counter.builder("orders.bulkhead.rejected")
+                .description("Connection requests rejected after waiting for a permit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.peerislands.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.bulkhead")
+public record DatabaseBulkheadProperties(
+        @DefaultValue("10") int permits,
+        @DefaultValue("2s") Duration acquireTimeout
+) {}
@@ -0,0 +1,19 @@
+package com.peerislands.ecommerce.config;
+
+import com.peerislands.ecommerce.dto.OrderResponse;
+import com.peerislands.ecommerce.model.Order;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Controllers return the domain {@link Order}, written on the wire by
+ * {@link com.peerislands.ecommerce.dto.OrderJsonSerializer}; publish {@link OrderResponse} as its schema
+ * so the OpenAPI document describes what is actually sent.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OpenApiSchemaConfiguration {
+
+    static {
+        SpringDocUtils.getConfig().replaceWithClass(Order.class, OrderResponse.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.peerislands.ecommerce.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events: a virtual thread that blocked while holding a monitor
+ * (a {@code synchronized} block or a {@code ConcurrentHashMap.compute} bin lock) and so held its carrier.
+ * Each event is logged with the first application frame and counted per site.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.pinning.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String APPLICATION_PACKAGE = "com.peerislands.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${diagnostics.pinning.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning diagnostics enabled (threshold {})", threshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = applicationFrame(event);
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinning events above the threshold")
+                .tag("site", site)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Virtual thread #{} pinned for {} ms at {}",
+                event.getThread() == null ? "?" : event.getThread().getJavaThreadId(), event.getDuration().toMillis(), site);
+    }
+
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return "other";
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.peerislands.ecommerce.controller;
+
+import com.peerislands.ecommerce.datasource.ReadRouting;
+import com.peerislands.ecommerce.dto.BulkOrderResult;
+import com.peerislands.ecommerce.dto.ErrorResponse;
+import com.peerislands.ecommerce.dto.OrderRequest;
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.OrderResult;
+import com.peerislands.ecommerce.service.OrderService;
+import com.peerislands.ecommerce.tracing.Span;
+import com.peerislands.ecommerce.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Backs {@code POST /api/v1/orders/bulk}. The body, a JSON array or NDJSON, is read one order at a
+ * time and cut into chunks of {@code orders.bulk.chunk-size}. Each chunk is one {@link OrderService#createOrders} call, so one
+ * transaction and one batched insert, and chunks run on a pool of {@code parallelism} threads
+ * shared by all bulk requests. Results are written as NDJSON lines as each chunk completes, so they
+ * arrive in completion order and carry the index of the order they answer. Chunks run inside the
+ * request's trace. Every accepted order gets a line: if no chunk finishes within
+ * {@code chunk-timeout}, the orders still outstanding are reported as {@code SERVICE_BUSY}.
+ */
+@Component
+@Slf4j
+class BulkOrderProcessor {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final OrderService orderService;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final OrderBulkProperties properties;
+    private final Tracer tracer;
+    private final ReadRouting readRouting;
+    private final ExecutorService workers;
+
+    BulkOrderProcessor(OrderService orderService, JsonMapper jsonMapper, Validator validator, OrderBulkProperties properties,
+                       Tracer tracer, ReadRouting readRouting) {
+        this.orderService = orderService;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.tracer = tracer;
+        this.readRouting = readRouting;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "order-bulk-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reads the body, a JSON array or whitespace-separated values (NDJSON) of {@link OrderRequest}, one
+     * value at a time and starts each chunk on the calling (request) thread as soon as it is full, so
+     * chunks join the request's trace and only the orders of unfinished chunks are held. Returns the
+     * body that streams their results.
+     * <p>
+     * A malformed value, or one past {@code max-orders}, rejects the request if no chunk has started
+     * yet. Otherwise the orders read so far are still created and the error is reported as a line
+     * for the index it was found at; the rest of the body is ignored.
+     */
+    StreamingResponseBody start(String customerId, InputStream body) {
+        BlockingQueue<Chunk> completed = new LinkedBlockingQueue<>();
+        Map<Integer, List<Integer>> outstanding = new HashMap<>();
+        List<BulkOrderResult> rejected = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>(properties.chunkSize());
+        List<OrderRequest> requests = new ArrayList<>(properties.chunkSize());
+        BusinessException readError = null;
+        int index = 0;
+        try (MappingIterator<OrderRequest> values = jsonMapper.readerFor(OrderRequest.class).readValues(body)) {
+            for (; values.hasNextValue(); index++) {
+                if (index == properties.maxOrders()) {
+                    throw new BusinessException(ErrorCode.INVALID_REQUEST,
+                            "A bulk request may contain at most " + properties.maxOrders() + " orders");
+                }
+                OrderRequest request = values.nextValue();
+                String violation = validate(request);
+                if (violation != null) {
+                    rejected.add(failure(index, new BusinessException(ErrorCode.INVALID_REQUEST, violation)));
+                    continue;
+                }
+                indexes.add(index);
+                requests.add(request);
+                if (indexes.size() == properties.chunkSize()) {
+                    submit(customerId, indexes, requests, outstanding, completed);
+                    indexes = new ArrayList<>(properties.chunkSize());
+                    requests = new ArrayList<>(properties.chunkSize());
+                }
+            }
+        } catch (JacksonException e) {
+            readError = new BusinessException(ErrorCode.INVALID_REQUEST, "Malformed bulk body: " + e.getOriginalMessage());
+        } catch (BusinessException e) {
+            readError = e;
+        }
+        if (readError != null) {
+            if (outstanding.isEmpty()) {
+                throw readError;
+            }
+            rejected.add(failure(index, readError));
+        }
+        if (!indexes.isEmpty()) {
+            submit(customerId, indexes, requests, outstanding, completed);
+        }
+
+        return out -> {
+            write(rejected, out);
+            drain(completed, outstanding, out);
+        };
+    }
+
+    /**
+     * The chunks commit on worker threads after the response has started, so the client is marked for
+     * read-your-writes when the first one is submitted.
+     */
+    private void submit(String customerId, List<Integer> indexes, List<OrderRequest> requests,
+                        Map<Integer, List<Integer>> outstanding, BlockingQueue<Chunk> completed) {
+        if (outstanding.isEmpty()) {
+            readRouting.markClient();
+        }
+        int chunk = outstanding.size();
+        outstanding.put(chunk, indexes);
+        Runnable task = () -> completed.add(new Chunk(chunk, createChunk(customerId, requests, indexes)));
+        CompletableFuture.runAsync(tracer.wrap(task), workers);
+    }
+
+    private void drain(BlockingQueue<Chunk> completed, Map<Integer, List<Integer>> outstanding, OutputStream out)
+            throws IOException {
+        Duration timeout = properties.chunkTimeout();
+        try {
+            while (!outstanding.isEmpty()) {
+                Chunk chunk = completed.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+                if (chunk == null) {
+                    log.error("No bulk chunk finished within {}; reporting {} chunks as busy", timeout, outstanding.size());
+                    BusinessException busy = new BusinessException(ErrorCode.SERVICE_BUSY,
+                            "Bulk chunk did not finish within " + timeout + "; the order may still be created");
+                    List<BulkOrderResult> lines = new ArrayList<>();
+                    outstanding.values().forEach(indexes -> indexes.forEach(index -> lines.add(failure(index, busy))));
+                    write(lines, out);
+                    return;
+                }
+                outstanding.remove(chunk.id());
+                write(chunk.lines(), out);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming bulk results", e);
+        }
+    }
+
+    /** {@code requests} holds the chunk's orders, in the same order as their {@code indexes}. */
+    private List<BulkOrderResult> createChunk(String customerId, List<OrderRequest> requests, List<Integer> indexes) {
+        List<BulkOrderResult> lines = new ArrayList<>(indexes.size());
+        try (Span span = tracer.span("order.bulk.chunk")) {
+            span.tag("orders", String.valueOf(indexes.size()));
+            List<CreateOrderCommand> commands = requests.stream()
+                    .map(request -> toCommand(customerId, request))
+                    .toList();
+            List<OrderResult> results = orderService.createOrders(commands);
+            for (int i = 0; i < indexes.size(); i++) {
+                OrderResult result = results.get(i);
+                lines.add(result.isSuccess()
+                        ? new BulkOrderResult(indexes.get(i), result.order(), null)
+                        : failure(indexes.get(i), result.error()));
+            }
+        } catch (Throwable e) {
+            // The chunk's transaction rolled back as a whole; report it on every order it carried.
+            log.error("Bulk chunk of {} orders failed: {}", indexes.size(), e.getMessage(), e);
+            BusinessException error = e instanceof BusinessException business
+                    ? business
+                    : new BusinessException(ErrorCode.INTERNAL_ERROR, "An unexpected error occurred: " + e.getMessage());
+            lines.clear();
+            indexes.forEach(index -> lines.add(failure(index, error)));
+        }
+        return lines;
+    }
+
+    private void write(List<BulkOrderResult> lines, OutputStream out) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        for (BulkOrderResult line : lines) {
+            out.write(jsonMapper.writeValueAsBytes(line));
+            out.write(NEWLINE);
+        }
+        out.flush();
+    }
+
+    private String validate(OrderRequest request) {
+        if (request == null) {
+            return "Order must not be null";
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ", "Validation Failed: ", ""));
+    }
+
+    private static CreateOrderCommand toCommand(String customerId, OrderRequest request) {
+        return new CreateOrderCommand(customerId, request.items().stream()
+                .map(i -> new CreateOrderCommand.OrderItemCommand(i.productId(), i.quantity()))
+                .toList());
+    }
+
+    private static BulkOrderResult failure(int index, BusinessException e) {
+        ErrorCode ec = e.getErrorCode();
+        return new BulkOrderResult(index, null,
+                new ErrorResponse(ec.getCode(), e.getMessage(), ec.getHttpStatus().value(), LocalDateTime.now()));
+    }
+
+    private record Chunk(int id, List<BulkOrderResult> lines) {}
+}
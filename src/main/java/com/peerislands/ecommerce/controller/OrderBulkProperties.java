@@ -0,0 +1,14 @@
+package com.peerislands.ecommerce.controller;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.bulk")
+public record OrderBulkProperties(
+        @DefaultValue("10000") int maxOrders,
+        @DefaultValue("100") int chunkSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("60s") Duration chunkTimeout
+) {}
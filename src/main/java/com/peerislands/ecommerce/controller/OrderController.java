@@ -1,31 +1,39 @@
 package com.peerislands.ecommerce.controller;
 
-import com.peerislands.ecommerce.dto.OrderItemDto;
+import com.peerislands.ecommerce.dto.CursorPagedResponse;
 import com.peerislands.ecommerce.dto.OrderRequest;
-import com.peerislands.ecommerce.dto.OrderResponse;
 import com.peerislands.ecommerce.dto.PagedResponse;
 import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
 import com.peerislands.ecommerce.model.Order;
 import com.peerislands.ecommerce.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Order endpoints. Handlers return the domain {@link Order}; it is written in the
+ * {@link com.peerislands.ecommerce.dto.OrderResponse} shape by
+ * {@link com.peerislands.ecommerce.dto.OrderJsonSerializer} without an intermediate DTO.
+ */
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderProcessor bulkOrderProcessor;
 
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(
+    public ResponseEntity<Order> createOrder(
             @RequestHeader("X-User-Id") String customerId,
             @RequestBody @Valid OrderRequest request) {
 
@@ -36,39 +44,61 @@ public class OrderController {
                         .collect(Collectors.toList())
         );
 
-        return ResponseEntity.ok(mapToResponse(orderService.createOrder(command)));
+        return ResponseEntity.ok(orderService.createOrder(command));
+    }
+
+    /**
+     * Creates many orders in one call. Accepts a JSON array or NDJSON of {@link OrderRequest}s and
+     * streams back one NDJSON {@link com.peerislands.ecommerce.dto.BulkOrderResult} per order as
+     * each chunk finishes.
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrders(
+            @RequestHeader("X-User-Id") String customerId,
+            InputStream body) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bulkOrderProcessor.start(customerId, body));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrder(
+    public ResponseEntity<Order> getOrder(
             @RequestHeader("X-User-Id") String customerId,
             @PathVariable UUID id) {
-        return ResponseEntity.ok(mapToResponse(orderService.getOrder(id, customerId)));
+        return ResponseEntity.ok(orderService.getOrder(id, customerId));
     }
 
     @GetMapping
-    public ResponseEntity<PagedResponse<OrderResponse>> getAllOrders(
+    public ResponseEntity<PagedResponse<Order>> getAllOrders(
             @RequestHeader("X-User-Id") String customerId,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
 
-        Page<Order> orderPage = orderService.getAllOrders(customerId, status, page, size);
-        Page<OrderResponse> responsePage = orderPage.map(this::mapToResponse);
-        return ResponseEntity.ok(new PagedResponse<>(responsePage));
+        Page<Order> orderPage = orderService.getAllOrders(customerId, status, page, size, includeArchived);
+        return ResponseEntity.ok(new PagedResponse<>(orderPage));
     }
 
-    @PostMapping("/{id}/cancel")
-    public ResponseEntity<OrderResponse> cancelOrder(
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPagedResponse<Order>> getOrdersByCursor(
             @RequestHeader("X-User-Id") String customerId,
-            @PathVariable UUID id) {
-        return ResponseEntity.ok(mapToResponse(orderService.cancelOrder(id, customerId)));
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<Order> orders = orderService.scrollOrders(customerId, status, cursor, size, includeTotal);
+        return ResponseEntity.ok(new CursorPagedResponse<>(orders));
     }
 
-    private OrderResponse mapToResponse(Order order) {
-        List<OrderItemDto> itemDtos = order.items().stream()
-                .map(i -> new OrderItemDto(i.productId(), i.quantity()))
-                .collect(Collectors.toList());
-        return new OrderResponse(order.id(), order.customerId(), order.status().name(), itemDtos, order.createdAt());
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Order> cancelOrder(
+            @RequestHeader("X-User-Id") String customerId,
+            @PathVariable UUID id) {
+        return ResponseEntity.ok(orderService.cancelOrder(id, customerId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.peerislands.ecommerce.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides where an order read runs. With replicas enabled, a read runs in a read-only transaction that
+ * {@link ReplicaRoutingDataSource} serves from a healthy replica, unless the customer's orders changed
+ * within the sticky window; then it stays on the primary so the customer sees their own writes.
+ * Everything not wrapped here (writes, the processing job, catalog loads) always uses the primary.
+ * <p>
+ * The sticky window travels with the client: a request that writes orders gets a
+ * {@value #LAST_WRITE_COOKIE} cookie holding the write time, and any node that sees it within the window
+ * reads from the primary. The per-customer marker kept here covers writes made off the request thread
+ * and clients that drop cookies, but it only holds on the node that made the write.
+ */
+@Component
+public class ReadRouting {
+
+    /** Carries the epoch millis of the client's last order write. */
+    public static final String LAST_WRITE_COOKIE = "orders-last-write";
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final ReplicaProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadRouting(ReplicaProperties properties, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.stickyWindow())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public <T> T read(String customerId, Supplier<T> query) {
+        if (!properties.enabled()) {
+            return query.get();
+        }
+        if (REPLICA_READ.get() != null || isSticky(customerId) || clientWroteRecently()) {
+            return readOnlyTransaction.execute(status -> query.get());
+        }
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return readOnlyTransaction.execute(status -> query.get());
+        } finally {
+            REPLICA_READ.remove();
+        }
+    }
+
+    public boolean isSticky(String customerId) {
+        return recentWriters.getIfPresent(customerId) != null;
+    }
+
+    /** Marked before commit, so no read that starts after the commit can miss it. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        if (properties.enabled()) {
+            for (OrderRef ref : event.orders()) {
+                recentWriters.put(ref.customerId(), Boolean.TRUE);
+            }
+            markClient();
+        }
+    }
+
+    /**
+     * Sets the {@value #LAST_WRITE_COOKIE} cookie on the current response, if there is one that is not
+     * committed yet. Called for writes that commit on other threads, before the response starts.
+     */
+    public void markClient() {
+        if (!properties.enabled()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Math.max(1, properties.stickyWindow().toSeconds() + 1))
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /** The window is checked on the cookie's value; clock skew between nodes should be well below it. */
+    private boolean clientWroteRecently() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long age = System.currentTimeMillis() - Long.parseLong(cookie.getValue());
+                    return Math.abs(age) < properties.stickyWindow().toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** True while the current thread is inside a {@link #read} that may use a replica. */
+    static boolean replicaRequested() {
+        return REPLICA_READ.get() != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.peerislands.ecommerce.datasource;
+
+import com.peerislands.ecommerce.config.DatabaseBulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource when {@code replicas.enabled=true}: the primary pool is still
+ * built from {@code spring.datasource.*} (behind the {@link DatabaseBulkhead}), and JPA and Flyway get the
+ * {@link ReplicaRoutingDataSource} in front of it and the replica pools.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource, ReplicaProperties properties,
+                                               DatabaseBulkhead bulkhead, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.datasources().size(); i++) {
+            ReplicaProperties.Replica replica = properties.datasources().get(i);
+            String name = replica.name() != null ? replica.name() : "replica-" + (i + 1);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            pool.setPoolName(name);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(properties.maximumPoolSize());
+            pool.setConnectionTimeout(Math.max(250, properties.healthCheckTimeout().toMillis()));
+            // a replica that is down at startup is marked unhealthy by the first probe instead of failing boot
+            pool.setInitializationFailTimeout(-1);
+            replicas.put(name, pool);
+        }
+        return new ReplicaRoutingDataSource(bulkhead.wrap(primaryDataSource), replicas, properties.healthCheckInterval(),
+                properties.healthCheckTimeout(), meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.peerislands.ecommerce.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        /** Customers whose orders changed this recently read from the primary. Should exceed replication lag. */
+        @DefaultValue("5s") Duration stickyWindow,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        /** Validation timeout for a health probe, and the connection timeout of the replica pools. */
+        @DefaultValue("1s") Duration healthCheckTimeout,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue List<Replica> datasources
+) {
+
+    public record Replica(String name, String url, String username, String password) {}
+}
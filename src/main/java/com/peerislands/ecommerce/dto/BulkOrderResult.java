@@ -0,0 +1,12 @@
+package com.peerislands.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.peerislands.ecommerce.model.Order;
+
+/** One NDJSON line of a bulk response: {@code index} is the order's position in the request. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOrderResult(
+        int index,
+        Order order,
+        ErrorResponse error
+) {}
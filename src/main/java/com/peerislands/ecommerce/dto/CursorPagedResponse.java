@@ -0,0 +1,23 @@
+package com.peerislands.ecommerce.dto;
+
+import com.peerislands.ecommerce.model.CursorPage;
+
+import java.util.List;
+
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        Long totalElements,
+        boolean last
+) {
+    public CursorPagedResponse(CursorPage<T> page) {
+        this(
+                page.content(),
+                page.content().size(),
+                page.nextCursor(),
+                page.totalElements(),
+                page.nextCursor() == null
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.peerislands.ecommerce.dto;
+
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderItem;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes an {@link Order} straight to the generator in the shape of {@link OrderResponse}, so responses
+ * skip the per-order DTO and item list copies and bean introspection. Property names are pre-encoded
+ * once; UUID and timestamp values go through the mapper's own serializers, resolved once per mapper,
+ * so their format still follows its configuration. Registered as a component, it also drives the CBOR
+ * mapper, where the same serializers write UUIDs as raw bytes.
+ */
+@JacksonComponent
+public class OrderJsonSerializer extends StdSerializer<Order> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+
+    private final ValueSerializer<Object> idSerializer;
+    private final ValueSerializer<Object> timestampSerializer;
+
+    public OrderJsonSerializer() {
+        this(null, null);
+    }
+
+    private OrderJsonSerializer(ValueSerializer<Object> idSerializer, ValueSerializer<Object> timestampSerializer) {
+        super(Order.class);
+        this.idSerializer = idSerializer;
+        this.timestampSerializer = timestampSerializer;
+    }
+
+    @Override
+    public ValueSerializer<?> createContextual(SerializationContext ctxt, BeanProperty property) {
+        if (idSerializer != null) {
+            return this;
+        }
+        return new OrderJsonSerializer(ctxt.findPrimaryPropertySerializer(UUID.class, property),
+                ctxt.findPrimaryPropertySerializer(LocalDateTime.class, property));
+    }
+
+    @Override
+    public void serialize(Order order, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeStartObject(order, 5);
+        gen.writeName(ID);
+        writeValue(order.id(), idSerializer, gen, ctxt);
+        gen.writeName(CUSTOMER_ID);
+        gen.writeString(order.customerId());
+        gen.writeName(STATUS);
+        gen.writeString(order.status().name());
+        gen.writeName(ITEMS);
+        writeItems(order.items(), gen);
+        gen.writeName(CREATED_AT);
+        writeValue(order.createdAt(), timestampSerializer, gen, ctxt);
+        gen.writeEndObject();
+    }
+
+    private static void writeItems(List<OrderItem> items, JsonGenerator gen) {
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+        int size = items.size();
+        gen.writeStartArray(items, size);
+        for (int i = 0; i < size; i++) {
+            OrderItem item = items.get(i);
+            gen.writeStartObject(item, 2);
+            gen.writeName(PRODUCT_ID);
+            gen.writeString(item.productId());
+            gen.writeName(QUANTITY);
+            if (item.quantity() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(item.quantity());
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeValue(Object value, ValueSerializer<Object> serializer, JsonGenerator gen, SerializationContext ctxt) {
+        if (value == null) {
+            gen.writeNull();
+        } else if (serializer != null) {
+            serializer.serialize(value, gen, ctxt);
+        } else {
+            ctxt.writeValue(gen, value);
+        }
+    }
+}
@@ -1,7 +1,21 @@
 package com.peerislands.ecommerce.dto;
 
+import com.peerislands.ecommerce.model.Order;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-public record OrderResponse(UUID id, String customerId, String status, List<OrderItemDto> items, LocalDateTime createdAt) {}
+/**
+ * Wire shape of an order. Responses are written by {@link OrderJsonSerializer} without building this
+ * record; it remains the published OpenAPI schema and the reference mapping the serializer is tested against.
+ */
+public record OrderResponse(UUID id, String customerId, String status, List<OrderItemDto> items, LocalDateTime createdAt) {
+
+    public static OrderResponse from(Order order) {
+        List<OrderItemDto> items = order.items().stream()
+                .map(i -> new OrderItemDto(i.productId(), i.quantity()))
+                .toList();
+        return new OrderResponse(order.id(), order.customerId(), order.status().name(), items, order.createdAt());
+    }
+}
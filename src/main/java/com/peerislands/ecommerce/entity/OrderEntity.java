@@ -1,5 +1,6 @@
 package com.peerislands.ecommerce.entity;
 
+import com.peerislands.ecommerce.entity.id.GeneratedUuid;
 import com.peerislands.ecommerce.model.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -27,8 +28,7 @@ public class OrderEntity {
     @Column(nullable = false)
     private OrderStatus status;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-    @JoinColumn(name = "order_id")
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private List<OrderItemEntity> items = new ArrayList<>();
 
@@ -38,4 +38,10 @@ public class OrderEntity {
 
     @Version
     private Integer version;
-}
\ No newline at end of file
+
+    /** Links both sides so the item row is inserted with its {@code order_id} already set. */
+    public void addItem(OrderItemEntity item) {
+        item.setOrder(this);
+        items.add(item);
+    }
+}
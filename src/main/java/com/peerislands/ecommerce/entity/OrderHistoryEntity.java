@@ -0,0 +1,28 @@
+package com.peerislands.ecommerce.entity;
+
+import com.peerislands.ecommerce.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Read-only view over hot and archived orders ({@code orders} union {@code orders_archive}). */
+@Entity
+@Immutable
+@Table(name = "order_history")
+@Getter
+@NoArgsConstructor
+public class OrderHistoryEntity {
+
+    @Id
+    private UUID id;
+
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private LocalDateTime createdAt;
+}
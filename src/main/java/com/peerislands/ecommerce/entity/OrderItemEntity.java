@@ -1,5 +1,6 @@
 package com.peerislands.ecommerce.entity;
 
+import com.peerislands.ecommerce.entity.id.GeneratedUuid;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -12,9 +13,13 @@ import java.util.UUID;
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private OrderEntity order;
+
     @Column(nullable = false)
     private String productId;
 
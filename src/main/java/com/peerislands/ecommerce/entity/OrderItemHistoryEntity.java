@@ -0,0 +1,28 @@
+package com.peerislands.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Read-only view over hot and archived order items ({@code order_items} union {@code order_items_archive}). */
+@Entity
+@Immutable
+@Table(name = "order_item_history")
+@Getter
+@NoArgsConstructor
+public class OrderItemHistoryEntity {
+
+    @Id
+    private UUID id;
+
+    private UUID orderId;
+
+    private String productId;
+
+    private Integer quantity;
+
+    private BigDecimal price;
+}
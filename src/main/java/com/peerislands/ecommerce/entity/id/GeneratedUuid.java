@@ -0,0 +1,21 @@
+package com.peerislands.ecommerce.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates a {@link java.util.UUID} identifier in the JVM before insert, using the chosen {@link UuidStrategy}.
+ */
+@IdGeneratorType(GeneratedUuidGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface GeneratedUuid {
+
+    UuidStrategy strategy() default UuidStrategy.TIME_ORDERED;
+}
@@ -0,0 +1,28 @@
+package com.peerislands.ecommerce.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+public class GeneratedUuidGenerator implements BeforeExecutionGenerator {
+
+    private final UuidStrategy strategy;
+
+    public GeneratedUuidGenerator(GeneratedUuid config) {
+        this.strategy = config.strategy();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return strategy.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+}
@@ -0,0 +1,24 @@
+package com.peerislands.ecommerce.entity.id;
+
+import java.util.UUID;
+
+public enum UuidStrategy {
+
+    /** Time-ordered v7; inserts append to the right edge of the primary key index. */
+    TIME_ORDERED {
+        @Override
+        public UUID next() {
+            return UuidV7.next();
+        }
+    },
+
+    /** Random v4, the previous {@code GenerationType.UUID} behaviour. */
+    RANDOM {
+        @Override
+        public UUID next() {
+            return UUID.randomUUID();
+        }
+    };
+
+    public abstract UUID next();
+}
@@ -0,0 +1,37 @@
+package com.peerislands.ecommerce.entity.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48-bit Unix epoch millis, then a 12-bit sequence, then 62 random bits.
+ * Ids from one JVM are strictly increasing. Ids from different nodes need no coordination and
+ * interleave by wall-clock time.
+ */
+public final class UuidV7 {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    /** Last issued (millis << 12 | sequence); a sequence overflow simply borrows the next millisecond. */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long msb = (stamp >>> SEQUENCE_BITS) << 16      // unix_ts_ms
+                | 0x7000L                               // version
+                | (stamp & 0xFFFL);                     // rand_a used as sequence
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000_0000_0000_0000L;               // variant 10
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
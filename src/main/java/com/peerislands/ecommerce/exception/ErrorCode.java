@@ -9,6 +9,7 @@ public enum ErrorCode {
     // General
     INTERNAL_ERROR("ERR_001", "An unexpected error occurred", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_REQUEST("ERR_002", "Invalid request parameters", HttpStatus.BAD_REQUEST),
+    SERVICE_BUSY("ERR_003", "Service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE),
 
     // Product / Catalog
     PRODUCT_NOT_FOUND("PROD_001", "Product not found in catalog", HttpStatus.NOT_FOUND),
@@ -16,6 +17,8 @@ public enum ErrorCode {
     // Inventory
     INSUFFICIENT_STOCK("INV_001", "Insufficient stock for product", HttpStatus.UNPROCESSABLE_CONTENT),
     INVENTORY_RECORD_NOT_FOUND("INV_002", "Inventory record not found", HttpStatus.INTERNAL_SERVER_ERROR),
+    RESERVATION_EXPIRED("INV_003", "Stock reservation has expired", HttpStatus.CONFLICT),
+    RESERVATION_ABORTED("INV_004", "Stock reservation was aborted", HttpStatus.CONFLICT),
 
     // Order
     ORDER_NOT_FOUND("ORD_001", "Order not found", HttpStatus.NOT_FOUND),
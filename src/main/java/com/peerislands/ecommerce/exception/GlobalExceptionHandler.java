@@ -1,21 +1,37 @@
 package com.peerislands.ecommerce.exception;
 
 import com.peerislands.ecommerce.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        for (ErrorCode ec : ErrorCode.values()) {
+            errorCounters.put(ec, Counter.builder("api.errors")
+                    .description("Error responses by error code")
+                    .tag("error", ec.name())
+                    .tag("status", String.valueOf(ec.getHttpStatus().value()))
+                    .register(meterRegistry));
+        }
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException e) {
         ErrorCode ec = e.getErrorCode();
+        errorCounters.get(ec).increment();
 
         ErrorResponse response = new ErrorResponse(
                 ec.getCode(),
@@ -29,6 +45,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        errorCounters.get(ErrorCode.INVALID_REQUEST).increment();
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error ->
                 errors.put(error.getField(), error.getDefaultMessage())
@@ -45,6 +62,13 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
+        // e.g. SERVICE_BUSY from the connection bulkhead, wrapped by the transaction manager
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BusinessException business) {
+                return handleBusinessException(business);
+            }
+        }
+        errorCounters.get(ErrorCode.INTERNAL_ERROR).increment();
         ErrorResponse response = new ErrorResponse(
                 ErrorCode.INTERNAL_ERROR.getCode(),
                 "An unexpected error occurred: " + e.getMessage(),
@@ -0,0 +1,14 @@
+package com.peerislands.ecommerce.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InsufficientStockException extends BusinessException {
+
+    private final String productId;
+
+    public InsufficientStockException(String productId) {
+        super(ErrorCode.INSUFFICIENT_STOCK, "Insufficient stock for: " + productId);
+        this.productId = productId;
+    }
+}
@@ -0,0 +1,93 @@
+package com.peerislands.ecommerce.job;
+
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.OrderRepository;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.tracing.Span;
+import com.peerislands.ecommerce.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves old DELIVERED/CANCELLED orders and their items from the hot tables into {@code orders_archive}
+ * and {@code order_items_archive}. Each batch is copied and deleted in one transaction, so an order is
+ * always in exactly one of the two places; listings that ask for archived orders read both.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+@Slf4j
+public class OrderArchiveJob {
+
+    private static final Set<OrderStatus> ARCHIVABLE = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchiveProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+    private final Counter archived;
+
+    public OrderArchiveJob(OrderRepository orderRepository,
+                           TransactionTemplate transactionTemplate,
+                           OrderArchiveProperties properties,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           Tracer tracer) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+        this.archived = Counter.builder("orders.archived")
+                .description("Orders moved to the archive tables")
+                .baseUnit("orders")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.interval:1h}")
+    public void archiveOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.olderThan());
+        long startedAt = System.nanoTime();
+
+        long moved = 0;
+        try (Span ignored = tracer.startTrace("job.archive-orders")) {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                moved += batch;
+                archived.increment(batch);
+            } while (batch == properties.batchSize());
+        }
+
+        log.info("Job: Archived {} orders created before {} in {} ms",
+                moved, cutoff, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<OrderRef> refs = orderRepository.claimRefsForArchive(ARCHIVABLE, cutoff, Limit.of(properties.batchSize()));
+        if (refs.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = refs.stream().map(OrderRef::id).toList();
+        orderRepository.copyItemsToArchive(ids);
+        orderRepository.copyToArchive(ids, cutoff, LocalDateTime.now());
+        orderRepository.deleteItemsByOrderIds(ids);
+        orderRepository.deleteByIdsCreatedBefore(ids, cutoff);
+        eventPublisher.publishEvent(new OrdersChangedEvent(refs));
+        return refs.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.peerislands.ecommerce.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.archive")
+public record OrderArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        /** DELIVERED and CANCELLED orders created longer ago than this move to the archive tables. */
+        @DefaultValue("90d") Duration olderThan,
+        @DefaultValue("500") int batchSize
+) {}
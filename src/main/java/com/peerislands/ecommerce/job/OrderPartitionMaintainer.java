@@ -0,0 +1,133 @@
+package com.peerislands.ecommerce.job;
+
+import com.peerislands.ecommerce.job.OrderPartitioningProperties.Granularity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the range partitions of the PostgreSQL {@code orders} table ahead of the clock: the current
+ * period and {@code premake} more always exist, so inserts never fall through to {@code orders_default}.
+ * Optionally drops partitions that have aged out and been emptied by {@link OrderArchiveJob}.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class OrderPartitionMaintainer {
+
+    private static final Pattern FROM = Pattern.compile("FROM \\('([^']+)'\\)");
+    private static final Pattern TO = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter LITERAL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderPartitioningProperties properties;
+
+    public OrderPartitionMaintainer(JdbcTemplate jdbcTemplate, OrderPartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /** Runs once at startup, then on the interval. */
+    @Scheduled(fixedDelayString = "${orders.partitioning.check-interval:6h}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        List<Partition> existing = partitions();
+        for (Partition partition : missing(existing, today, properties.granularity(), properties.premake())) {
+            create(partition);
+        }
+        if (!properties.dropEmptyAfter().isZero()) {
+            for (Partition partition : expired(existing, today.atStartOfDay().minus(properties.dropEmptyAfter()))) {
+                dropIfEmpty(partition);
+            }
+        }
+    }
+
+    /** Range partitions of {@code orders}; the default partition has no bounds and is left out. */
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i "
+                                + "join pg_class c on c.oid = i.inhrelid where i.inhparent = 'orders'::regclass",
+                        (rs, row) -> Partition.parse(rs.getString(1), rs.getString(2)))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void create(Partition partition) {
+        try {
+            jdbcTemplate.execute("create table if not exists " + partition.name() + " partition of orders for values from ('"
+                    + LITERAL.format(partition.from()) + "') to ('" + LITERAL.format(partition.to()) + "')");
+            log.info("Partitioning: created {} [{}, {})", partition.name(), partition.from(), partition.to());
+        } catch (DataAccessException e) {
+            // typically rows for this range already sit in orders_default and must be moved by hand
+            log.warn("Partitioning: could not create {} [{}, {})", partition.name(), partition.from(), partition.to(), e);
+        }
+    }
+
+    private void dropIfEmpty(Partition partition) {
+        Boolean hasRows = jdbcTemplate.queryForObject("select exists (select 1 from " + partition.name() + ")", Boolean.class);
+        if (Boolean.FALSE.equals(hasRows)) {
+            jdbcTemplate.execute("drop table " + partition.name());
+            log.info("Partitioning: dropped empty {} (ended {})", partition.name(), partition.to());
+        }
+    }
+
+    /**
+     * Partitions to create so that every period from the one containing {@code today} through
+     * {@code premake} more is covered. A period that starts inside existing coverage is clipped to
+     * where that coverage ends, so it never overlaps.
+     */
+    static List<Partition> missing(List<Partition> existing, LocalDate today, Granularity granularity, int premake) {
+        LocalDateTime coveredUntil = existing.stream()
+                .map(Partition::to)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+        List<Partition> missing = new ArrayList<>();
+        LocalDate start = granularity.floor(today);
+        for (int i = 0; i <= premake; i++) {
+            LocalDate end = granularity.next(start);
+            LocalDateTime from = start.atStartOfDay().isBefore(coveredUntil) ? coveredUntil : start.atStartOfDay();
+            if (from.isBefore(end.atStartOfDay())) {
+                missing.add(new Partition("orders_p" + DateTimeFormatter.BASIC_ISO_DATE.format(start), from, end.atStartOfDay()));
+            }
+            start = end;
+        }
+        return missing;
+    }
+
+    static List<Partition> expired(List<Partition> existing, LocalDateTime endedBefore) {
+        return existing.stream()
+                .filter(partition -> !partition.to().isAfter(endedBefore))
+                .toList();
+    }
+
+    /** One range partition; {@code from} is null for a {@code MINVALUE} lower bound. */
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        /** Parses {@code pg_get_expr(relpartbound)}; returns null for the default partition. */
+        static Partition parse(String name, String bound) {
+            Matcher to = TO.matcher(bound);
+            if (!to.find()) {
+                return null;
+            }
+            Matcher from = FROM.matcher(bound);
+            return new Partition(name, from.find() ? timestamp(from.group(1)) : null, timestamp(to.group(1)));
+        }
+
+        private static LocalDateTime timestamp(String literal) {
+            return LocalDateTime.parse(literal.replace(' ', 'T'));
+        }
+    }
+}
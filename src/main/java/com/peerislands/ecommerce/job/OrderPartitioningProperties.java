@@ -0,0 +1,48 @@
+package com.peerislands.ecommerce.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+@ConfigurationProperties(prefix = "orders.partitioning")
+public record OrderPartitioningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("month") Granularity granularity,
+        /** Partitions kept ready after the current one. */
+        @DefaultValue("3") int premake,
+        /** Empty partitions that ended longer ago than this are dropped; zero keeps them. */
+        @DefaultValue("0d") Duration dropEmptyAfter
+) {
+
+    /** Both align with month starts, where the migrated legacy partition ends. */
+    public enum Granularity {
+        DAY {
+            @Override
+            LocalDate floor(LocalDate date) {
+                return date;
+            }
+
+            @Override
+            LocalDate next(LocalDate start) {
+                return start.plusDays(1);
+            }
+        },
+        MONTH {
+            @Override
+            LocalDate floor(LocalDate date) {
+                return date.withDayOfMonth(1);
+            }
+
+            @Override
+            LocalDate next(LocalDate start) {
+                return start.plusMonths(1);
+            }
+        };
+
+        abstract LocalDate floor(LocalDate date);
+
+        abstract LocalDate next(LocalDate start);
+    }
+}
@@ -1,34 +1,192 @@
 package com.peerislands.ecommerce.job;
 
-import com.peerislands.ecommerce.entity.OrderEntity;
 import com.peerislands.ecommerce.model.OrderStatus;
 import com.peerislands.ecommerce.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.tracing.Span;
+import com.peerislands.ecommerce.tracing.Tracer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OrderProcessingJob {
 
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
     private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderProcessingProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+    private final ExecutorService workers;
+    private final Timer runTimer;
+    private final DistributionSummary runRows;
+
+    public OrderProcessingJob(OrderRepository orderRepository,
+                              TransactionTemplate transactionTemplate,
+                              OrderProcessingProperties properties,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              Tracer tracer) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+        String mode = properties.claimMode().name().toLowerCase();
+        this.runTimer = Timer.builder("orders.processing.run")
+                .description("Duration of one processing job run")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.runRows = DistributionSummary.builder("orders.processing.run.rows")
+                .description("Orders moved to PROCESSING per job run")
+                .baseUnit("orders")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.workers()), runnable -> {
+            Thread thread = new Thread(runnable, "order-processing-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     @Scheduled(fixedDelay = 60000)
-    @Transactional
     public void processOrders() {
         log.info("Job: Checking for pending orders...");
         LocalDateTime cutoff = LocalDateTime.now().minusMinutes(5);
-        List<OrderEntity> orders = orderRepository.findByStatusAndCreatedAtBefore(OrderStatus.PENDING, cutoff);
+        long startedAt = System.nanoTime();
+
+        long processed;
+        try (Span span = tracer.startTrace("job.process-orders")) {
+            span.tag("mode", properties.claimMode().name());
+            processed = switch (properties.claimMode()) {
+                case SKIP_LOCKED -> drainWithSkipLocked(cutoff);
+                case OPTIMISTIC -> drainWithKeyset(cutoff);
+            };
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        runRows.record(processed);
+
+        long elapsedMillis = Math.max(1, elapsedNanos / 1_000_000);
+        log.info("Job: Moved {} orders to PROCESSING in {} ms ({} rows/s, {} mode)",
+                processed, elapsedMillis, processed * 1000 / elapsedMillis, properties.claimMode());
+    }
+
+    /**
+     * Every worker claims and commits chunks on its own until the backlog is empty. Locked rows are
+     * skipped, so workers on this node and on other nodes never block on or repeat each other's chunks.
+     */
+    private long drainWithSkipLocked(LocalDateTime cutoff) {
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, properties.workers()); i++) {
+            results.add(workers.submit(tracer.wrap(() -> {
+                long transitioned = 0;
+                int updated;
+                // Stop on the rows actually moved, not the rows claimed: a claimed row the update
+                // misses would otherwise be claimed again on every pass.
+                do {
+                    try (Span ignored = tracer.span("job.chunk")) {
+                        Integer chunk = transactionTemplate.execute(status -> claimChunk(cutoff));
+                        updated = chunk == null ? 0 : chunk;
+                    }
+                    transitioned += updated;
+                } while (updated == properties.chunkSize());
+                return transitioned;
+            })));
+        }
+        long processed = 0;
+        for (Future<Long> result : results) {
+            processed += await(result);
+        }
+        return processed;
+    }
+
+    private int claimChunk(LocalDateTime cutoff) {
+        List<OrderRef> refs = orderRepository.claimRefsForUpdateSkipLocked(OrderStatus.PENDING, cutoff, Limit.of(properties.chunkSize()));
+        return refs.isEmpty() ? 0 : transition(refs, cutoff);
+    }
+
+    private int transition(List<OrderRef> refs, LocalDateTime cutoff) {
+        List<UUID> ids = refs.stream().map(OrderRef::id).toList();
+        int updated = orderRepository.transitionStatus(ids, cutoff, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        eventPublisher.publishEvent(new OrdersChangedEvent(refs));
+        return updated;
+    }
+
+    /**
+     * Reads the backlog by id keyset on the scheduler thread and hands each chunk to the worker pool.
+     * Another node may pick the same rows; the status guard on the update turns that into a no-op.
+     */
+    private long drainWithKeyset(LocalDateTime cutoff) {
+        int parallelism = Math.max(1, properties.workers());
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicLong transitioned = new AtomicLong();
+        List<Future<?>> results = new ArrayList<>();
 
-        for (OrderEntity order : orders) {
-            log.info("Processing Order: {}", order.getId());
-            order.setStatus(OrderStatus.PROCESSING);
+        UUID after = LOWEST_ID;
+        List<OrderRef> refs;
+        do {
+            refs = orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(
+                    OrderStatus.PENDING, cutoff, after, Limit.of(properties.chunkSize()));
+            if (refs.isEmpty()) {
+                break;
+            }
+            after = refs.getLast().id();
+            List<OrderRef> chunk = refs;
+            inFlight.acquireUninterruptibly();
+            results.add(workers.submit(tracer.wrap(() -> {
+                try (Span ignored = tracer.span("job.chunk")) {
+                    Integer updated = transactionTemplate.execute(status -> transition(chunk, cutoff));
+                    transitioned.addAndGet(updated == null ? 0 : updated);
+                } finally {
+                    inFlight.release();
+                }
+            })));
+        } while (refs.size() == properties.chunkSize());
+
+        results.forEach(OrderProcessingJob::await);
+        return transitioned.get();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order processing workers", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order processing chunk failed", e.getCause());
         }
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.peerislands.ecommerce.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orders.processing")
+public record OrderProcessingProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("1") int workers,
+        @DefaultValue("optimistic") ClaimMode claimMode
+) {
+
+    public enum ClaimMode {
+        /** Workers pull chunks with {@code FOR UPDATE SKIP LOCKED}; needs a database that supports it (Postgres). */
+        SKIP_LOCKED,
+        /** Portable fallback: chunks are handed out by one reader and the status-guarded update makes overlaps harmless. */
+        OPTIMISTIC
+    }
+}
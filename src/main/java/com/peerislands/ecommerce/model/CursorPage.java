@@ -0,0 +1,18 @@
+package com.peerislands.ecommerce.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. {@code nextCursor} is null on the last page and {@code totalElements}
+ * is null unless the caller asked for the count.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        Long totalElements
+) {
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, totalElements);
+    }
+}
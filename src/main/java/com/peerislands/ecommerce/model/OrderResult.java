@@ -0,0 +1,22 @@
+package com.peerislands.ecommerce.model;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+
+/** Outcome of one order in a batch: either the created order or the reason it was rejected. */
+public record OrderResult(
+        Order order,
+        BusinessException error
+) {
+
+    public static OrderResult success(Order order) {
+        return new OrderResult(order, null);
+    }
+
+    public static OrderResult failure(BusinessException error) {
+        return new OrderResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
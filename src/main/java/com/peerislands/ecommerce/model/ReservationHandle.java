@@ -0,0 +1,11 @@
+package com.peerislands.ecommerce.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record ReservationHandle(
+        UUID id,
+        List<CreateOrderCommand.OrderItemCommand> items,
+        Instant expiresAt
+) {}
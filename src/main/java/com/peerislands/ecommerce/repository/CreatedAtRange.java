@@ -0,0 +1,57 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.id.UuidV7;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The {@code created_at} range that orders with the given ids must fall in. It lets id lookups on
+ * the partitioned {@code orders} table name the partition key, so PostgreSQL only probes the
+ * partitions around it instead of every partition's primary key.
+ * <p>
+ * A v7 id carries the millisecond it was generated. Hibernate stamps {@code created_at} from the
+ * same JVM clock in the same flush, so the two differ by far less than {@link #SLACK}. The slack
+ * also covers a clock step or a change of the JVM time zone between writing and reading. Any
+ * other id, such as a v4 id from before v7 was the default, gets {@link #ANY}.
+ */
+record CreatedAtRange(LocalDateTime from, LocalDateTime to) {
+
+    static final Duration SLACK = Duration.ofDays(2);
+
+    static final CreatedAtRange ANY = new CreatedAtRange(
+            LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+
+    static CreatedAtRange of(UUID id) {
+        if (id.version() != 7) {
+            return ANY;
+        }
+        LocalDateTime issued = toLocal(UuidV7.timestampMillis(id));
+        return new CreatedAtRange(issued.minus(SLACK), issued.plus(SLACK));
+    }
+
+    static CreatedAtRange of(Collection<UUID> ids) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (UUID id : ids) {
+            if (id.version() != 7) {
+                return ANY;
+            }
+            long millis = UuidV7.timestampMillis(id);
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+        if (ids.isEmpty()) {
+            return ANY;
+        }
+        return new CreatedAtRange(toLocal(min).minus(SLACK), toLocal(max).plus(SLACK));
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,34 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.OrderHistoryEntity;
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.projection.OrderItemView;
+import com.peerislands.ecommerce.repository.projection.OrderSummaryView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** The {@link OrderRepository} listing queries, run over hot and archived orders together. */
+public interface OrderHistoryRepository extends Repository<OrderHistoryEntity, UUID> {
+
+    @Query(value = "select new com.peerislands.ecommerce.repository.projection.OrderSummaryView(o.id, o.customerId, o.status, o.createdAt) "
+            + "from OrderHistoryEntity o where o.customerId = :customerId",
+            countQuery = "select count(o) from OrderHistoryEntity o where o.customerId = :customerId")
+    Page<OrderSummaryView> findSummariesByCustomerId(@Param("customerId") String customerId, Pageable pageable);
+
+    @Query(value = "select new com.peerislands.ecommerce.repository.projection.OrderSummaryView(o.id, o.customerId, o.status, o.createdAt) "
+            + "from OrderHistoryEntity o where o.customerId = :customerId and o.status = :status",
+            countQuery = "select count(o) from OrderHistoryEntity o where o.customerId = :customerId and o.status = :status")
+    Page<OrderSummaryView> findSummariesByCustomerIdAndStatus(@Param("customerId") String customerId,
+                                                              @Param("status") OrderStatus status,
+                                                              Pageable pageable);
+
+    @Query("select new com.peerislands.ecommerce.repository.projection.OrderItemView(i.orderId, i.productId, i.quantity, i.price) "
+            + "from OrderItemHistoryEntity i where i.orderId in :orderIds")
+    List<OrderItemView> findItemViewsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+}
@@ -2,16 +2,144 @@ package com.peerislands.ecommerce.repository;
 
 import com.peerislands.ecommerce.entity.OrderEntity;
 import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp;
+import com.peerislands.ecommerce.repository.projection.OrderItemView;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.repository.projection.OrderSummaryView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
 
-    List<OrderEntity> findByStatusAndCreatedAtBefore(OrderStatus status, LocalDateTime timestamp);
-    Page<OrderEntity> findByCustomerId(String customerId, Pageable pageable);
-    Page<OrderEntity> findByCustomerIdAndStatus(String customerId, OrderStatus status, Pageable pageable);
-}
\ No newline at end of file
+    @Query("select new com.peerislands.ecommerce.repository.projection.OrderRef(o.id, o.customerId) "
+            + "from OrderEntity o where o.status = :status and o.createdAt < :cutoff and o.id > :after order by o.id")
+    List<OrderRef> findRefsByStatusAndCreatedAtBeforeAndIdAfter(@Param("status") OrderStatus status,
+                                                                @Param("cutoff") LocalDateTime cutoff,
+                                                                @Param("after") UUID after,
+                                                                Limit limit);
+
+    /**
+     * Row-locks the next chunk for the calling transaction; rows already locked by another node are skipped,
+     * not waited on. A lock timeout of -2 is Hibernate's SKIP_LOCKED, rendered per dialect.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select new com.peerislands.ecommerce.repository.projection.OrderRef(o.id, o.customerId) "
+            + "from OrderEntity o where o.status = :status and o.createdAt < :cutoff order by o.createdAt")
+    List<OrderRef> claimRefsForUpdateSkipLocked(@Param("status") OrderStatus status,
+                                                @Param("cutoff") LocalDateTime cutoff,
+                                                Limit limit);
+
+    /**
+     * Bulk status change that still bumps {@code version}, so concurrent optimistic writers see the conflict.
+     * {@code createdBefore} is the cutoff the rows were selected with. It bounds the partition key exactly,
+     * unlike a range guessed from the ids, so the update reaches every selected row and skips newer partitions.
+     */
+    default int transitionStatus(Collection<UUID> ids, LocalDateTime createdBefore, OrderStatus from, OrderStatus to) {
+        return transitionStatusCreatedBetween(ids, CreatedAtRange.ANY.from(), createdBefore, from, to);
+    }
+
+    /** {@link #transitionStatus} with the partition key bounded; see {@link CreatedAtRange}. */
+    @Modifying
+    @Query("update OrderEntity o set o.status = :to, o.version = o.version + 1 "
+            + "where o.id in :ids and o.createdAt between :createdFrom and :createdTo and o.status = :from")
+    int transitionStatusCreatedBetween(@Param("ids") Collection<UUID> ids,
+                                       @Param("createdFrom") LocalDateTime createdFrom,
+                                       @Param("createdTo") LocalDateTime createdTo,
+                                       @Param("from") OrderStatus from,
+                                       @Param("to") OrderStatus to);
+
+    /** Next archive batch, row-locked the same way as {@link #claimRefsForUpdateSkipLocked} so archivers on several nodes never overlap. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select new com.peerislands.ecommerce.repository.projection.OrderRef(o.id, o.customerId) "
+            + "from OrderEntity o where o.status in :statuses and o.createdAt < :cutoff order by o.createdAt")
+    List<OrderRef> claimRefsForArchive(@Param("statuses") Collection<OrderStatus> statuses,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       Limit limit);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into order_items_archive (id, order_id, product_id, quantity, price) "
+            + "select id, order_id, product_id, quantity, price from order_items where order_id in :orderIds")
+    int copyItemsToArchive(@Param("orderIds") Collection<UUID> orderIds);
+
+    /** {@code cutoff} repeats the claim's bound so a partitioned {@code orders} table only probes old partitions. */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into orders_archive (id, customer_id, status, created_at, archived_at) "
+            + "select id, customer_id, status, created_at, :archivedAt from orders where id in :ids and created_at < :cutoff")
+    int copyToArchive(@Param("ids") Collection<UUID> ids,
+                      @Param("cutoff") LocalDateTime cutoff,
+                      @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("delete from OrderItemEntity i where i.order.id in :orderIds")
+    int deleteItemsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Modifying
+    @Query("delete from OrderEntity o where o.id in :ids and o.createdAt < :cutoff")
+    int deleteByIdsCreatedBefore(@Param("ids") Collection<UUID> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /** Looks the order up within the {@code created_at} range its id implies, so only nearby partitions are probed. */
+    default Optional<OrderEntity> findWithItemsById(UUID id) {
+        CreatedAtRange range = CreatedAtRange.of(id);
+        return findWithItemsByIdAndCreatedAtBetween(id, range.from(), range.to());
+    }
+
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findWithItemsByIdAndCreatedAtBetween(UUID id, LocalDateTime from, LocalDateTime to);
+
+    /** Current {@code version} of one order, bounded to the same partitions as {@link #findWithItemsById}. */
+    default Optional<Integer> findVersionById(UUID id) {
+        CreatedAtRange range = CreatedAtRange.of(id);
+        return findVersionByIdAndCreatedAtBetween(id, range.from(), range.to());
+    }
+
+    @Query("select o.version from OrderEntity o where o.id = :id and o.createdAt between :from and :to")
+    Optional<Integer> findVersionByIdAndCreatedAtBetween(@Param("id") UUID id,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    @Query("select new com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp("
+            + "count(o), coalesce(sum(o.version), 0L), max(o.createdAt)) "
+            + "from OrderEntity o where o.customerId = :customerId")
+    CustomerOrdersStamp findStampByCustomerId(@Param("customerId") String customerId);
+
+    @Query(value = "select new com.peerislands.ecommerce.repository.projection.OrderSummaryView(o.id, o.customerId, o.status, o.createdAt) "
+            + "from OrderEntity o where o.customerId = :customerId",
+            countQuery = "select count(o) from OrderEntity o where o.customerId = :customerId")
+    Page<OrderSummaryView> findSummariesByCustomerId(@Param("customerId") String customerId, Pageable pageable);
+
+    @Query(value = "select new com.peerislands.ecommerce.repository.projection.OrderSummaryView(o.id, o.customerId, o.status, o.createdAt) "
+            + "from OrderEntity o where o.customerId = :customerId and o.status = :status",
+            countQuery = "select count(o) from OrderEntity o where o.customerId = :customerId and o.status = :status")
+    Page<OrderSummaryView> findSummariesByCustomerIdAndStatus(@Param("customerId") String customerId,
+                                                              @Param("status") OrderStatus status,
+                                                              Pageable pageable);
+
+    @Query("select new com.peerislands.ecommerce.repository.projection.OrderItemView(o.id, i.productId, i.quantity, i.price) "
+            + "from OrderEntity o join o.items i where o.id in :orderIds")
+    List<OrderItemView> findItemViewsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+    Window<OrderEntity> findByCustomerId(String customerId, ScrollPosition position, Sort sort, Limit limit);
+    Window<OrderEntity> findByCustomerIdAndStatus(String customerId, OrderStatus status, ScrollPosition position, Sort sort, Limit limit);
+    long countByCustomerId(String customerId);
+    long countByCustomerIdAndStatus(String customerId, OrderStatus status);
+}
@@ -0,0 +1,7 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.ProductEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductRepository extends JpaRepository<ProductEntity, String> {
+}
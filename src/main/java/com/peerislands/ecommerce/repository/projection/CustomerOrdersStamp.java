@@ -0,0 +1,13 @@
+package com.peerislands.ecommerce.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changes whenever one of a customer's orders is created, changes status (every update bumps its
+ * {@code version}) or is archived away, so equal stamps mean an unchanged set of orders.
+ */
+public record CustomerOrdersStamp(
+        Long orders,
+        Long versions,
+        LocalDateTime newestCreatedAt
+) {}
@@ -0,0 +1,11 @@
+package com.peerislands.ecommerce.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderItemView(
+        UUID orderId,
+        String productId,
+        Integer quantity,
+        BigDecimal price
+) {}
@@ -0,0 +1,8 @@
+package com.peerislands.ecommerce.repository.projection;
+
+import java.util.UUID;
+
+public record OrderRef(
+        UUID id,
+        String customerId
+) {}
@@ -0,0 +1,13 @@
+package com.peerislands.ecommerce.repository.projection;
+
+import com.peerislands.ecommerce.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderSummaryView(
+        UUID id,
+        String customerId,
+        OrderStatus status,
+        LocalDateTime createdAt
+) {}
@@ -2,6 +2,12 @@ package com.peerislands.ecommerce.service;
 
 import com.peerislands.ecommerce.model.Product;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface CatalogService {
     Product getProduct(String productId);
-}
\ No newline at end of file
+
+    /** Resolves every id in one pass; fails with PRODUCT_NOT_FOUND naming the first unknown id. */
+    Map<String, Product> getProducts(Collection<String> productIds);
+}
@@ -1,7 +1,39 @@
 package com.peerislands.ecommerce.service;
 
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.ReservationHandle;
+
+import java.time.Duration;
+import java.util.List;
+
 public interface InventoryService {
     boolean hasStock(String productId, Integer quantity);
     void reserveStock(String productId, Integer quantity);
     void releaseStock(String productId, Integer quantity);
-}
\ No newline at end of file
+
+    /**
+     * Reserves every line of a basket or none of them. Lines for the same product are
+     * summed before the stock check, so a failure never leaves part of the basket reserved.
+     * <p>
+     * All or nothing is not isolation: engines may take the lines one at a time and give them
+     * back on failure, so concurrent readers and baskets can briefly see part of it taken.
+     */
+    void reserveAll(List<CreateOrderCommand.OrderItemCommand> items);
+
+    void releaseAll(List<CreateOrderCommand.OrderItemCommand> items);
+
+    /**
+     * Reserves the basket as a hold that is returned to stock automatically once {@code ttl}
+     * elapses, unless it is committed first.
+     */
+    ReservationHandle hold(List<CreateOrderCommand.OrderItemCommand> items, Duration ttl);
+
+    /**
+     * Makes the hold permanent. An expired hold is re-reserved, or fails with RESERVATION_EXPIRED;
+     * committing it again does nothing, and committing an aborted hold fails with RESERVATION_ABORTED.
+     */
+    void commit(ReservationHandle handle);
+
+    /** Returns the hold to stock. Aborting a committed, expired or already aborted hold does nothing. */
+    void abort(ReservationHandle handle);
+}
@@ -1,13 +1,18 @@
 package com.peerislands.ecommerce.service;
 
 import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
 import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderResult;
 import org.springframework.data.domain.Page;
+import java.util.List;
 import java.util.UUID;
 
 public interface OrderService {
     Order createOrder(CreateOrderCommand command);
+    List<OrderResult> createOrders(List<CreateOrderCommand> commands);
     Order getOrder(UUID id, String customerId);
-    Page<Order> getAllOrders(String customerId, String statusFilter, int page, int size);
+    Page<Order> getAllOrders(String customerId, String statusFilter, int page, int size, boolean includeArchived);
+    CursorPage<Order> scrollOrders(String customerId, String statusFilter, String cursor, int size, boolean includeTotal);
     Order cancelOrder(UUID id, String customerId);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.peerislands.ecommerce.service.event;
+
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+
+import java.util.List;
+
+/** Published inside the writing transaction whenever orders are created or change status. */
+public record OrdersChangedEvent(List<OrderRef> orders) {}
@@ -0,0 +1,191 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import com.peerislands.ecommerce.service.InventoryService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation holds on top of an engine's {@link #reserveAll}/{@link #releaseAll}. Live holds
+ * are tracked by id and their deadlines sit in a {@link HoldTimerWheel}; commit, abort and
+ * expiry race on removing the id, so exactly one of them decides what happens to the stock.
+ * The winner records its outcome for {@link #SETTLED_RETENTION}, so a later commit can tell an
+ * expired hold (re-reserve) from one that was already committed (no-op) or aborted (rejected).
+ */
+@Slf4j
+public abstract class AbstractInventoryService implements InventoryService {
+
+    private static final long SWEEP_TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+    static final Duration SETTLED_RETENTION = Duration.ofMinutes(10);
+
+    enum HoldOutcome { COMMITTED, ABORTED, EXPIRED }
+
+    private final Map<UUID, ReservationHandle> activeHolds = new ConcurrentHashMap<>();
+    private final Cache<UUID, HoldOutcome> settledHolds = Caffeine.newBuilder()
+            .expireAfterWrite(SETTLED_RETENTION)
+            .build();
+    private final HoldTimerWheel timerWheel = new HoldTimerWheel(SWEEP_TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    private volatile ScheduledExecutorService sweeper;
+
+    @Override
+    public ReservationHandle hold(List<CreateOrderCommand.OrderItemCommand> items, Duration ttl) {
+        ReservationHandle handle = new ReservationHandle(UUID.randomUUID(), List.copyOf(items), Instant.now().plus(ttl));
+        reserveHold(handle);
+        track(handle);
+        return handle;
+    }
+
+    @Override
+    public void commit(ReservationHandle handle) {
+        if (settle(handle.id(), HoldOutcome.COMMITTED) != null) {
+            holdCommitted(handle);
+            return;
+        }
+        Map<UUID, HoldOutcome> outcomes = settledHolds.asMap();
+        HoldOutcome outcome = outcomes.putIfAbsent(handle.id(), HoldOutcome.COMMITTED);
+        if (outcome == HoldOutcome.COMMITTED) {
+            return;
+        }
+        if (outcome == HoldOutcome.ABORTED) {
+            throw new BusinessException(ErrorCode.RESERVATION_ABORTED, "Reservation was aborted: " + handle.id());
+        }
+        // Expired, or settled so long ago that the outcome is forgotten. Only one caller gets to re-reserve.
+        if (outcome == HoldOutcome.EXPIRED && !outcomes.replace(handle.id(), HoldOutcome.EXPIRED, HoldOutcome.COMMITTED)) {
+            commit(handle);
+            return;
+        }
+        try {
+            reserveAll(handle.items());
+        } catch (BusinessException e) {
+            outcomes.put(handle.id(), HoldOutcome.EXPIRED);
+            throw new BusinessException(ErrorCode.RESERVATION_EXPIRED, "Reservation expired: " + handle.id());
+        }
+    }
+
+    @Override
+    public void abort(ReservationHandle handle) {
+        if (settle(handle.id(), HoldOutcome.ABORTED) != null) {
+            releaseHold(handle);
+        }
+    }
+
+    public int activeHoldCount() {
+        return activeHolds.size();
+    }
+
+    /** Sums a basket's lines per product, in first-seen order. */
+    protected static Map<String, Integer> aggregate(List<CreateOrderCommand.OrderItemCommand> items) {
+        Map<String, Integer> demand = new LinkedHashMap<>();
+        for (CreateOrderCommand.OrderItemCommand item : items) {
+            demand.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        return demand;
+    }
+
+    /** Takes the stock for a new hold. Engines that persist holds override this and the two hooks below. */
+    protected void reserveHold(ReservationHandle handle) {
+        reserveAll(handle.items());
+    }
+
+    /** Returns an aborted or expired hold to stock. */
+    protected void releaseHold(ReservationHandle handle) {
+        releaseAll(handle.items());
+    }
+
+    /** Called once when a live hold is committed; its stock is already taken. */
+    protected void holdCommitted(ReservationHandle handle) {
+    }
+
+    /** Tracks a hold recovered at startup, whose stock is already taken, until it is committed, aborted or expires. */
+    protected void restoreHold(ReservationHandle handle) {
+        track(handle);
+    }
+
+    /** Returns every outstanding hold to stock, for engines whose counts outlive the process. */
+    protected void releaseActiveHolds() {
+        for (ReservationHandle handle : List.copyOf(activeHolds.values())) {
+            abort(handle);
+        }
+    }
+
+    void expireHolds(long nowMillis) {
+        timerWheel.advanceTo(nowMillis, holdId -> {
+            ReservationHandle handle = settle(holdId, HoldOutcome.EXPIRED);
+            if (handle != null) {
+                log.info("Reservation {} expired, returning stock", holdId);
+                releaseHold(handle);
+            }
+        });
+    }
+
+    /**
+     * Ends a live hold with {@code outcome} and returns it, or returns null when it had already
+     * ended. The outcome is recorded before the hold leaves {@link #activeHolds}, so a caller that
+     * misses the hold always finds how it ended.
+     */
+    private ReservationHandle settle(UUID holdId, HoldOutcome outcome) {
+        ReservationHandle[] settled = new ReservationHandle[1];
+        activeHolds.computeIfPresent(holdId, (id, handle) -> {
+            settledHolds.put(id, outcome);
+            settled[0] = handle;
+            return null;
+        });
+        return settled[0];
+    }
+
+    private void track(ReservationHandle handle) {
+        activeHolds.put(handle.id(), handle);
+        timerWheel.schedule(handle.id(), handle.expiresAt().toEpochMilli());
+        ensureSweeperStarted();
+    }
+
+    private void ensureSweeperStarted() {
+        if (sweeper != null) {
+            return;
+        }
+        synchronized (this) {
+            if (sweeper == null) {
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "inventory-hold-sweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleAtFixedRate(this::sweep, SWEEP_TICK_MILLIS, SWEEP_TICK_MILLIS, TimeUnit.MILLISECONDS);
+                sweeper = executor;
+            }
+        }
+    }
+
+    private void sweep() {
+        try {
+            expireHolds(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Reservation sweep failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.service.CatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-through cache in front of {@link JpaCatalogServiceImpl}. Caffeine bounds the size with W-TinyLFU
+ * admission, so a scan of cold SKUs cannot flush the hot ones. Entries older than {@code refresh-after-write}
+ * are reloaded in the background on their next read, and are dropped after {@code expire-after-write}.
+ * A basket is resolved with one {@code getAll}: hits come from memory, all misses from one query.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "catalog.source", havingValue = "jpa")
+public class CachingCatalogService implements CatalogService {
+
+    private final LoadingCache<String, Product> cache;
+
+    public CachingCatalogService(JpaCatalogServiceImpl delegate, CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .refreshAfterWrite(properties.refreshAfterWrite())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Product load(String productId) {
+                        return delegate.findProducts(Set.of(productId)).get(productId);
+                    }
+
+                    @Override
+                    public Map<String, Product> loadAll(Set<? extends String> productIds) {
+                        return delegate.findProducts(Set.copyOf(productIds));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.products");
+    }
+
+    @Override
+    public Product getProduct(String productId) {
+        Product product = cache.get(productId);
+        if (product == null) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+        }
+        return product;
+    }
+
+    @Override
+    public Map<String, Product> getProducts(Collection<String> productIds) {
+        Map<String, Product> products = cache.getAll(productIds);
+        JpaCatalogServiceImpl.requireAll(productIds, products);
+        return products;
+    }
+}
@@ -0,0 +1,13 @@
+package com.peerislands.ecommerce.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.cache")
+public record CatalogCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("1m") Duration refreshAfterWrite,
+        @DefaultValue("10m") Duration expireAfterWrite
+) {}
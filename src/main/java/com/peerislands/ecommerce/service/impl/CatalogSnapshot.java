@@ -0,0 +1,204 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.model.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, memory-mapped product catalog. Nothing is decoded at open time: the entry table is
+ * sorted by the UTF-8 bytes of the id and searched in place, so the ordinal of an id is its
+ * dictionary code. Names are deduplicated into a separate dictionary and prices are kept as long
+ * minor units. A {@link Product} is only materialised for the id being looked up.
+ *
+ * <pre>
+ * header  int magic | int version | int count | int names | int priceScale | int idHeap | int nameTable | int reserved
+ * entries count x (int idOffset | int nameCode | long priceMinor), sorted by id bytes
+ * idHeap  count x (short length, bytes)
+ * names   names x int offset, then names x (short length, bytes)
+ * </pre>
+ *
+ * The whole file is one mapping, which caps a snapshot at 2 GB (tens of millions of SKUs).
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415453; // "CATS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int ENTRY_BYTES = 16;
+    private static final int DEFAULT_PRICE_SCALE = 2;
+    /** Lengths are stored as unsigned shorts. */
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int nameCount;
+    private final int priceScale;
+    private final int nameTable;
+
+    private CatalogSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a catalog snapshot");
+        }
+        this.count = buffer.getInt(8);
+        this.nameCount = buffer.getInt(12);
+        this.priceScale = buffer.getInt(16);
+        this.nameTable = buffer.getInt(24);
+    }
+
+    public static CatalogSnapshot open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot(buffer.order(ByteOrder.LITTLE_ENDIAN));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open catalog snapshot " + file, e);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int nameCount() {
+        return nameCount;
+    }
+
+    /** Binary search over the mapped entry table; {@code null} when the id is not in the snapshot. */
+    public Product find(String productId) {
+        byte[] key = productId.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareId(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return product(mid, productId);
+            }
+        }
+        return null;
+    }
+
+    private int compareId(int ordinal, byte[] key) {
+        int offset = buffer.getInt(HEADER_BYTES + ordinal * ENTRY_BYTES);
+        int length = buffer.getShort(offset) & 0xFFFF;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(buffer.get(offset + 2 + i) & 0xFF, key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private Product product(int ordinal, String productId) {
+        int entry = HEADER_BYTES + ordinal * ENTRY_BYTES;
+        int nameCode = buffer.getInt(entry + 4);
+        long priceMinor = buffer.getLong(entry + 8);
+        return new Product(productId, readString(buffer.getInt(nameTable + nameCode * 4)), BigDecimal.valueOf(priceMinor, priceScale));
+    }
+
+    private String readString(int offset) {
+        byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a snapshot offline: written to a temporary file, forced and atomically moved over
+     * {@code file}, so a running reader sees either the old catalog or the new one.
+     */
+    public static void write(Collection<Product> products, Path file) {
+        List<Encoded> entries = new ArrayList<>(products.size());
+        Map<String, Integer> nameCodes = new LinkedHashMap<>();
+        for (Product product : products) {
+            byte[] id = checkLength("Product id", product.id());
+            checkLength("Product name", product.name());
+            int nameCode = nameCodes.computeIfAbsent(product.name(), name -> nameCodes.size());
+            long priceMinor = product.price().setScale(DEFAULT_PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            entries.add(new Encoded(id, nameCode, priceMinor));
+        }
+        entries.sort((a, b) -> Arrays.compareUnsigned(a.id(), b.id()));
+        for (int i = 1; i < entries.size(); i++) {
+            if (Arrays.equals(entries.get(i - 1).id(), entries.get(i).id())) {
+                throw new IllegalArgumentException("Duplicate product id: " + new String(entries.get(i).id(), StandardCharsets.UTF_8));
+            }
+        }
+        List<byte[]> names = nameCodes.keySet().stream().map(n -> n.getBytes(StandardCharsets.UTF_8)).toList();
+
+        long idHeap = HEADER_BYTES + (long) entries.size() * ENTRY_BYTES;
+        long nameTable = idHeap + entries.stream().mapToLong(e -> 2L + e.id().length).sum();
+        long size = nameTable + 4L * names.size() + names.stream().mapToLong(n -> 2L + n.length).sum();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Catalog snapshot would exceed 2 GB");
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(entries.size()).putInt(names.size())
+                    .putInt(DEFAULT_PRICE_SCALE).putInt((int) idHeap).putInt((int) nameTable).putInt(0);
+
+            int idOffset = (int) idHeap;
+            for (Encoded entry : entries) {
+                buffer.putInt(idOffset).putInt(entry.nameCode()).putLong(entry.priceMinor());
+                idOffset += 2 + entry.id().length;
+            }
+            for (Encoded entry : entries) {
+                buffer.putShort((short) entry.id().length).put(entry.id());
+            }
+            int nameOffset = (int) nameTable + 4 * names.size();
+            for (byte[] name : names) {
+                buffer.putInt(nameOffset);
+                nameOffset += 2 + name.length;
+            }
+            for (byte[] name : names) {
+                buffer.putShort((short) name.length).put(name);
+            }
+            buffer.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog snapshot " + temp, e);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to publish catalog snapshot " + file, e);
+        }
+    }
+
+    private static byte[] checkLength(String what, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException(what + " is " + bytes.length + " UTF-8 bytes, over the limit of "
+                    + MAX_STRING_BYTES + ": " + value.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    private record Encoded(byte[] id, int nameCode, long priceMinor) {}
+}
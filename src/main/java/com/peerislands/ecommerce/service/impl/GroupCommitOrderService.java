@@ -0,0 +1,263 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderResult;
+import com.peerislands.ecommerce.service.OrderService;
+import com.peerislands.ecommerce.tracing.Span;
+import com.peerislands.ecommerce.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Group-commit front for {@link OrderServiceImpl}. Create requests are queued and a single flusher
+ * thread coalesces them into micro-batches of up to {@code batchSize} orders or {@code maxWait},
+ * whichever comes first, and writes each batch in one transaction. While a batch commits, the
+ * next one fills up, so commit latency is shared instead of paid per order. A caller waits up to
+ * {@code maxWait + commitTimeout} for its order to be taken into a batch. If it gives up first, the
+ * flusher drops the order, so the {@code SERVICE_BUSY} it gets is safe to retry. Once the order is
+ * in a batch, the caller waits for that batch's outcome, since the order may commit. Orders still
+ * queued at shutdown fail with {@code SERVICE_BUSY}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "orders.ingestion.mode", havingValue = "group-commit")
+@Slf4j
+public class GroupCommitOrderService implements OrderService {
+
+    private final OrderServiceImpl delegate;
+    private final OrderIngestionProperties properties;
+    private final Tracer tracer;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+    private final Counter abandoned;
+    private final Thread flusher;
+    private final long awaitNanos;
+    private volatile boolean running;
+
+    public GroupCommitOrderService(OrderServiceImpl delegate, OrderIngestionProperties properties,
+                                   MeterRegistry meterRegistry, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.latency = Timer.builder("orders.ingestion.latency")
+                .description("Time from enqueue until the order's batch completed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("orders.ingestion.batch.size")
+                .description("Orders committed per group-commit batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("orders.ingestion.abandoned")
+                .description("Queued orders dropped because their caller stopped waiting")
+                .register(meterRegistry);
+        meterRegistry.gauge("orders.ingestion.queue.depth", queue, BlockingQueue::size);
+        this.flusher = new Thread(this::run, "order-group-commit");
+        this.flusher.setDaemon(true);
+        this.awaitNanos = properties.maxWait().plus(properties.commitTimeout()).toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher.start();
+    }
+
+    @Override
+    public Order createOrder(CreateOrderCommand command) {
+        PendingOrder pending = new PendingOrder(command, new CompletableFuture<>(), System.nanoTime(),
+                new AtomicReference<>(PendingOrder.State.QUEUED));
+        if (!running || !queue.offer(pending)) {
+            throw new BusinessException(ErrorCode.SERVICE_BUSY, "Order ingestion queue is full");
+        }
+        if (!running && queue.remove(pending)) {
+            // stop() ran between the check and the offer; the flusher may already be gone.
+            throw new BusinessException(ErrorCode.SERVICE_BUSY, "Order ingestion is shutting down");
+        }
+        // The batch itself runs on the flusher thread and is shared, so the caller's trace records the wait.
+        try (Span ignored = tracer.span("order.group-commit")) {
+            return await(pending, awaitNanos);
+        }
+    }
+
+    @Override
+    public List<OrderResult> createOrders(List<CreateOrderCommand> commands) {
+        return delegate.createOrders(commands);
+    }
+
+    @Override
+    public Order getOrder(UUID id, String customerId) {
+        return delegate.getOrder(id, customerId);
+    }
+
+    @Override
+    public Page<Order> getAllOrders(String customerId, String statusFilter, int page, int size, boolean includeArchived) {
+        return delegate.getAllOrders(customerId, statusFilter, page, size, includeArchived);
+    }
+
+    @Override
+    public CursorPage<Order> scrollOrders(String customerId, String statusFilter, String cursor, int size, boolean includeTotal) {
+        return delegate.scrollOrders(customerId, statusFilter, cursor, size, includeTotal);
+    }
+
+    @Override
+    public Order cancelOrder(UUID id, String customerId) {
+        return delegate.cancelOrder(id, customerId);
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !claim(first)) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.maxWait().toNanos();
+                while (batch.size() < properties.batchSize()) {
+                    PendingOrder next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (claim(next)) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> fail(p, new BusinessException(ErrorCode.SERVICE_BUSY)));
+                return;
+            } catch (Throwable e) {
+                // Keep the flusher alive: fail this batch's callers (completed ones are unaffected) and move on.
+                log.error("Group commit of {} orders failed unexpectedly", batch.size(), e);
+                batch.forEach(p -> fail(p, new BusinessException(ErrorCode.INTERNAL_ERROR,
+                        "An unexpected error occurred: " + e.getMessage())));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** Takes an order into the batch being built, unless its caller has already given up on it. */
+    private boolean claim(PendingOrder pending) {
+        if (pending.state().compareAndSet(PendingOrder.State.QUEUED, PendingOrder.State.CLAIMED)) {
+            return true;
+        }
+        abandoned.increment();
+        return false;
+    }
+
+    /** Writes a batch of claimed orders. */
+    void flush(List<PendingOrder> batch) {
+        batchSizes.record(batch.size());
+        List<CreateOrderCommand> commands = batch.stream().map(PendingOrder::command).toList();
+
+        List<OrderResult> results;
+        try {
+            results = delegate.createOrders(commands);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.getFirst(), e);
+                return;
+            }
+            // The write failed for the whole batch; retry each order on its own so only the culprit fails.
+            log.warn("Group commit of {} orders failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingOrder pending : batch) {
+                try {
+                    complete(pending, OrderResult.success(delegate.createOrder(pending.command())));
+                } catch (RuntimeException single) {
+                    fail(pending, single);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+    }
+
+    private void complete(PendingOrder pending, OrderResult result) {
+        if (!result.isSuccess()) {
+            fail(pending, result.error());
+            return;
+        }
+        latency.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        pending.result().complete(result.order());
+    }
+
+    private void fail(PendingOrder pending, RuntimeException error) {
+        latency.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        pending.result().completeExceptionally(error);
+    }
+
+    private static Order await(PendingOrder pending, long timeoutNanos) {
+        try {
+            try {
+                return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (pending.abandon()) {
+                    throw new BusinessException(ErrorCode.SERVICE_BUSY, "Timed out waiting for order ingestion");
+                }
+                // Its batch is already being written, so only the batch's outcome says whether the order exists.
+                return pending.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SERVICE_BUSY, "Interrupted while waiting for order ingestion"
+                    + (pending.abandon() ? "" : "; the order may still be created"));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(properties.commitTimeout().toMillis());
+        for (PendingOrder pending; (pending = queue.poll()) != null; ) {
+            fail(pending, new BusinessException(ErrorCode.SERVICE_BUSY, "Order ingestion is shutting down"));
+        }
+    }
+
+    record PendingOrder(CreateOrderCommand command, CompletableFuture<Order> result, long enqueuedAt,
+                        AtomicReference<State> state) {
+
+        enum State { QUEUED, CLAIMED, ABANDONED }
+
+        /** Withdraws the order if no batch has taken it yet; returns false once it is being written. */
+        boolean abandon() {
+            return state.compareAndSet(State.QUEUED, State.ABANDONED);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.peerislands.ecommerce.service.impl;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for reservation deadlines. Scheduling is a queue append and every tick
+ * drains a single bucket, so the sweep cost depends on the holds due in that slot rather than
+ * on the number of outstanding holds. Deadlines further out than one revolution stay in their
+ * bucket until the wheel comes round to their tick.
+ */
+class HoldTimerWheel {
+
+    private record Timeout(UUID holdId, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final int mask;
+    private final Queue<Timeout>[] buckets;
+
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HoldTimerWheel(long tickMillis, int wheelSize, long originMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    void schedule(UUID holdId, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis - originMillis, tickMillis), currentTick + 1);
+        buckets[(int) (deadlineTick & mask)].add(new Timeout(holdId, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis}, handing every due hold to {@code onExpired}.
+     * Must only be called from one thread at a time.
+     */
+    void advanceTo(long nowMillis, Consumer<UUID> onExpired) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        for (long tick = currentTick + 1; tick <= targetTick; tick++) {
+            // Publish the tick before draining so concurrent schedules land in a later bucket.
+            currentTick = tick;
+            Queue<Timeout> bucket = buckets[(int) (tick & mask)];
+            for (int pending = bucket.size(); pending > 0; pending--) {
+                Timeout timeout = bucket.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.deadlineTick() <= tick) {
+                    onExpired.accept(timeout.holdId());
+                } else {
+                    bucket.add(timeout);
+                }
+            }
+        }
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
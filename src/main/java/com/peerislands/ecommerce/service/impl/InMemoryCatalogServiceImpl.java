@@ -4,14 +4,18 @@ import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
 import com.peerislands.ecommerce.model.Product;
 import com.peerislands.ecommerce.service.CatalogService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@ConditionalOnProperty(name = "catalog.source", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryCatalogServiceImpl implements CatalogService {
 
     private final Map<String, Product> productCatalog = new ConcurrentHashMap<>();
@@ -31,4 +35,13 @@ public class InMemoryCatalogServiceImpl implements CatalogService {
         }
         return product;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Map<String, Product> getProducts(Collection<String> productIds) {
+        Map<String, Product> products = new HashMap<>();
+        for (String productId : productIds) {
+            products.put(productId, getProduct(productId));
+        }
+        return products;
+    }
+}
@@ -2,23 +2,73 @@ package com.peerislands.ecommerce.service.impl;
 
 import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
-import com.peerislands.ecommerce.service.InventoryService;
+import com.peerislands.ecommerce.exception.InsufficientStockException;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
-public class InMemoryInventoryServiceImpl implements InventoryService {
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryInventoryServiceImpl extends AbstractInventoryService implements MeterBinder {
+
+    // Per-SKU gauges are only worth their series count for a small, hand-loaded stock table.
+    private static final int MAX_STOCK_GAUGES = 1_000;
 
     private final Map<String, Integer> stockRegistry = new ConcurrentHashMap<>();
 
+    // One lock per SKU, so baskets without a product in common never wait on each other. j.u.c. locks rather
+    // than monitors: a virtual thread waiting on one unmounts instead of pinning its carrier.
+    private final Map<String, ReentrantLock> skuLocks = new ConcurrentHashMap<>();
+    // Shared by every reservation and release; load() takes it exclusively to swap the whole table.
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+    private final LongAdder contended = new LongAdder();
+    private volatile MeterRegistry meterRegistry;
+
     @PostConstruct
     public void init() {
-        stockRegistry.put("PROD-1", 100);
-        stockRegistry.put("PROD-2", 50);
-        stockRegistry.put("PROD-3", 2);
+        Map<String, Integer> initialStock = new LinkedHashMap<>();
+        initialStock.put("PROD-1", 100);
+        initialStock.put("PROD-2", 50);
+        initialStock.put("PROD-3", 2);
+        load(initialStock);
+    }
+
+    public void load(Map<String, Integer> initialStock) {
+        tableLock.writeLock().lock();
+        try {
+            stockRegistry.clear();
+            stockRegistry.putAll(initialStock);
+            skuLocks.clear();
+            initialStock.keySet().forEach(productId -> skuLocks.put(productId, new ReentrantLock()));
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+        registerStockGauges();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        FunctionCounter.builder("inventory.lock.contended", contended, LongAdder::sum)
+                .description("Inventory writes that found a SKU lock held and had to wait")
+                .register(registry);
+        registerStockGauges();
     }
 
     @Override
@@ -28,19 +78,89 @@ public class InMemoryInventoryServiceImpl implements InventoryService {
 
     @Override
     public void reserveStock(String productId, Integer quantity) {
-        stockRegistry.compute(productId, (id, currentStock) -> {
-            if (currentStock == null) {
-                throw new BusinessException(ErrorCode.INVENTORY_RECORD_NOT_FOUND, "No inventory record for: " + productId);
-            }
-            if (currentStock < quantity) {
-                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK, "Insufficient stock for: " + productId);
-            }
-            return currentStock - quantity;
-        });
+        reserveAll(List.of(new CreateOrderCommand.OrderItemCommand(productId, quantity)));
     }
 
     @Override
     public void releaseStock(String productId, Integer quantity) {
-        stockRegistry.computeIfPresent(productId, (id, currentStock) -> currentStock + quantity);
+        releaseAll(List.of(new CreateOrderCommand.OrderItemCommand(productId, quantity)));
+    }
+
+    @Override
+    public void reserveAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        Map<String, Integer> demand = new TreeMap<>(aggregate(items));
+
+        // Only the basket's SKUs are locked, in key order so overlapping baskets cannot deadlock; the
+        // whole basket is checked and applied as a unit. Readers stay lock-free on the ConcurrentHashMap.
+        tableLock.readLock().lock();
+        List<Lock> held = new ArrayList<>(demand.size());
+        try {
+            for (String productId : demand.keySet()) {
+                ReentrantLock lock = skuLocks.get(productId);
+                if (lock == null) {
+                    throw new BusinessException(ErrorCode.INVENTORY_RECORD_NOT_FOUND, "No inventory record for: " + productId);
+                }
+                lock(lock);
+                held.add(lock);
+            }
+            demand.forEach((productId, quantity) -> {
+                if (stockRegistry.get(productId) < quantity) {
+                    throw new InsufficientStockException(productId);
+                }
+            });
+            demand.forEach((productId, quantity) -> stockRegistry.put(productId, stockRegistry.get(productId) - quantity));
+        } finally {
+            unlock(held);
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void releaseAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        Map<String, Integer> demand = new TreeMap<>(aggregate(items));
+
+        tableLock.readLock().lock();
+        List<Lock> held = new ArrayList<>(demand.size());
+        try {
+            for (String productId : demand.keySet()) {
+                ReentrantLock lock = skuLocks.get(productId);
+                if (lock != null) {
+                    lock(lock);
+                    held.add(lock);
+                }
+            }
+            demand.forEach((productId, quantity) ->
+                    stockRegistry.computeIfPresent(productId, (id, currentStock) -> currentStock + quantity));
+        } finally {
+            unlock(held);
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /** Takes a SKU lock, counting the acquisitions that had to wait for it. */
+    private void lock(ReentrantLock lock) {
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
+    }
+
+    private static void unlock(List<Lock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private void registerStockGauges() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null || stockRegistry.size() > MAX_STOCK_GAUGES) {
+            return;
+        }
+        for (String productId : stockRegistry.keySet()) {
+            Gauge.builder("inventory.stock", stockRegistry, stock -> stock.getOrDefault(productId, 0))
+                    .description("Units currently available to reserve")
+                    .tag("sku", productId)
+                    .register(registry);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.peerislands.ecommerce.service.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-mapped write-ahead journal of stock deltas. Writers claim a contiguous run of
+ * fixed-size records with one atomic add, fill them in, and publish each record by writing
+ * its stamp last. A stamp encodes the epoch and the record's position, so replay can tell a
+ * published record from one that is unwritten or left over from an earlier epoch. Claims are
+ * filled out of order, so a crash can leave gaps below published records; replay scans the
+ * whole journal and applies every published record (deltas commute).
+ *
+ * <p>Records written for a reservation hold carry the hold's key and expiry, and committing the
+ * hold writes a {@link #HOLD_COMMITTED} marker. Replay can then tell which holds were still
+ * outstanding when the process stopped.
+ *
+ * <pre>
+ * header:  int magic | int version | long epoch | padding to 64 bytes
+ * record:  int slot | int delta | long hold (0 if none) | long expiresAt millis | long stamp (epoch &lt;&lt; 32 | sequence)
+ * </pre>
+ */
+class InventoryJournal implements Closeable {
+
+    interface RecordVisitor {
+        void visit(int slot, int delta, long hold, long expiresAtMillis);
+    }
+
+    /** Slot of the record that makes a hold permanent; it carries no delta. */
+    static final int HOLD_COMMITTED = -1;
+
+    private static final int MAGIC = 0x494E564A; // "INVJ"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 32;
+    private static final int STAMP_OFFSET = 24;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong nextRecord = new AtomicLong();
+
+    private volatile long epoch;
+
+    InventoryJournal(Path file, int capacity) {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES) {
+            throw new IllegalArgumentException("Unsupported journal capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map inventory journal " + file, e);
+        }
+        // A journal of another layout version is treated like a missing one; shutdown checkpoints, so it is empty.
+        this.epoch = buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION ? buffer.getLong(8) : -1;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    int size() {
+        return (int) Math.min(nextRecord.get(), capacity);
+    }
+
+    /**
+     * Replays every published record of the current epoch and positions the journal after the
+     * highest one, so new claims never overwrite a record that replay would need again.
+     */
+    int replay(RecordVisitor visitor) {
+        int replayed = 0;
+        int next = 0;
+        for (int record = 0; record < capacity; record++) {
+            int offset = offsetOf(record);
+            if ((long) LONGS.getAcquire(buffer, offset + STAMP_OFFSET) != stamp(epoch, record)) {
+                continue;
+            }
+            visitor.visit(buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+            replayed++;
+            next = record + 1;
+        }
+        nextRecord.set(next);
+        return replayed;
+    }
+
+    /** Starts a new, empty generation. Records of older epochs are ignored from now on. */
+    void reset(long newEpoch) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, newEpoch);
+        buffer.force(0, HEADER_BYTES);
+        this.epoch = newEpoch;
+        nextRecord.set(0);
+    }
+
+    /** Claims {@code count} consecutive records, or returns -1 when the journal is full. */
+    long claim(int count) {
+        long first = nextRecord.getAndAdd(count);
+        return first + count <= capacity ? first : -1;
+    }
+
+    void write(long record, int slot, int delta) {
+        write(record, slot, delta, 0, 0);
+    }
+
+    void write(long record, int slot, int delta, long hold, long expiresAtMillis) {
+        int offset = offsetOf(record);
+        buffer.putInt(offset, slot);
+        buffer.putInt(offset + 4, delta);
+        buffer.putLong(offset + 8, hold);
+        buffer.putLong(offset + 16, expiresAtMillis);
+        LONGS.setRelease(buffer, offset + STAMP_OFFSET, stamp(epoch, record));
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close inventory journal", e);
+        }
+    }
+
+    private static int offsetOf(long record) {
+        return HEADER_BYTES + (int) record * RECORD_BYTES;
+    }
+
+    private static long stamp(long epoch, long record) {
+        return (epoch << 32) | (record + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.peerislands.ecommerce.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Point-in-time stock counts, written to a temporary file, forced to disk and atomically moved
+ * into place. The epoch ties a snapshot to the journal generation that continues from it.
+ *
+ * <pre>
+ * int magic | int version | long epoch | int count | count x (short idLength, id bytes, int stock)
+ * </pre>
+ */
+record InventorySnapshot(long epoch, Map<String, Integer> stock) {
+
+    private static final int MAGIC = 0x494E5653; // "INVS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    static InventorySnapshot read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException("Not an inventory snapshot: " + file);
+            }
+            long epoch = buffer.getLong();
+            int count = buffer.getInt();
+            Map<String, Integer> stock = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[buffer.getShort()];
+                buffer.get(id);
+                stock.put(new String(id, StandardCharsets.UTF_8), buffer.getInt());
+            }
+            return new InventorySnapshot(epoch, stock);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read inventory snapshot " + file, e);
+        }
+    }
+
+    void writeTo(Path file) {
+        Map<byte[], Integer> encoded = new LinkedHashMap<>();
+        long size = HEADER_BYTES;
+        for (Map.Entry<String, Integer> entry : stock.entrySet()) {
+            byte[] id = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            encoded.put(id, entry.getValue());
+            size += 2 + id.length + 4;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(epoch).putInt(encoded.size());
+            encoded.forEach((id, count) -> buffer.putShort((short) id.length).put(id).putInt(count));
+            buffer.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write inventory snapshot " + temp, e);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to publish inventory snapshot " + file, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.entity.ProductEntity;
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.repository.ProductRepository;
+import com.peerislands.ecommerce.service.CatalogService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Catalog read straight from the {@code products} table; {@link CachingCatalogService} sits in front of it. */
+@Service
+@ConditionalOnProperty(name = "catalog.source", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaCatalogServiceImpl implements CatalogService {
+
+    private final ProductRepository productRepository;
+
+    @PostConstruct
+    public void init() {
+        if (productRepository.count() == 0) {
+            productRepository.saveAll(List.of(
+                    new ProductEntity("PROD-1", "Wireless Mouse", new BigDecimal("25.00")),
+                    new ProductEntity("PROD-2", "Mechanical Keyboard", new BigDecimal("150.00")),
+                    new ProductEntity("PROD-3", "iPhone 15", new BigDecimal("999.00"))));
+        }
+    }
+
+    @Override
+    public Product getProduct(String productId) {
+        return productRepository.findById(productId)
+                .map(JpaCatalogServiceImpl::toProduct)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId));
+    }
+
+    @Override
+    public Map<String, Product> getProducts(Collection<String> productIds) {
+        Map<String, Product> products = findProducts(productIds);
+        requireAll(productIds, products);
+        return products;
+    }
+
+    /** One {@code id in (...)} query; unknown ids are simply absent from the result. */
+    public Map<String, Product> findProducts(Collection<String> productIds) {
+        Map<String, Product> products = new HashMap<>();
+        for (ProductEntity entity : productRepository.findAllById(productIds)) {
+            products.put(entity.getId(), toProduct(entity));
+        }
+        return products;
+    }
+
+    static void requireAll(Collection<String> productIds, Map<String, Product> products) {
+        for (String productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+            }
+        }
+    }
+
+    private static Product toProduct(ProductEntity entity) {
+        return new Product(entity.getId(), entity.getName(), entity.getPrice());
+    }
+}
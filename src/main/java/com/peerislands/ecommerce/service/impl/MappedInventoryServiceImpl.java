@@ -0,0 +1,415 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.exception.InsufficientStockException;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Durable inventory engine. Counts live in padded CAS cells like the striped engine, and every
+ * change is appended to a memory-mapped journal before the call returns. A checkpoint writes a
+ * snapshot and starts a new journal epoch; startup loads the latest snapshot and replays the
+ * journal written after it.
+ *
+ * <p>Writers share the read side of a lock so they can run concurrently; a checkpoint takes the
+ * write side, so a snapshot never includes a change whose record would also be replayed.
+ *
+ * <p>Holds are journaled as holds: their records carry the hold key and expiry, and a commit
+ * writes a marker. A snapshot counts outstanding holds as available and the new journal epoch
+ * starts by re-logging them. After a crash, replay re-arms every hold that was neither committed
+ * nor released, so its stock comes back when the hold expires instead of being lost.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "mapped")
+public class MappedInventoryServiceImpl extends AbstractInventoryService {
+
+    private static final int SLOT_STRIDE = 16;
+    private static final String SNAPSHOT_FILE = "inventory.snapshot";
+    private static final String JOURNAL_FILE = "inventory.journal";
+
+    private final Path directory;
+    private final int journalCapacity;
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    /** Holds whose reservation is in the journal and that are not yet committed or released. */
+    private final Map<UUID, ReservationHandle> journaledHolds = new ConcurrentHashMap<>();
+
+    /** Replaced as a whole under the checkpoint write lock, so lock-free readers never mix two loads. */
+    private volatile Slots slots = new Slots(Map.of(), new String[0], new AtomicIntegerArray(0));
+    private volatile long epoch;
+    private InventoryJournal journal;
+
+    public MappedInventoryServiceImpl(
+            @Value("${inventory.mapped.directory:./data/inventory}") Path directory,
+            @Value("${inventory.mapped.journal-capacity:1048576}") int journalCapacity) {
+        this.directory = directory;
+        this.journalCapacity = journalCapacity;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create inventory directory " + directory, e);
+        }
+
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        journal = new InventoryJournal(directory.resolve(JOURNAL_FILE), journalCapacity);
+
+        if (!Files.exists(snapshotFile)) {
+            Map<String, Integer> initialStock = new LinkedHashMap<>();
+            initialStock.put("PROD-1", 100);
+            initialStock.put("PROD-2", 50);
+            initialStock.put("PROD-3", 2);
+            load(initialStock);
+            return;
+        }
+
+        InventorySnapshot snapshot = InventorySnapshot.read(snapshotFile);
+        install(snapshot.stock());
+        epoch = snapshot.epoch();
+
+        int replayed = 0;
+        List<ReservationHandle> recoveredHolds = List.of();
+        if (journal.epoch() == epoch) {
+            AtomicIntegerArray cells = slots.counters();
+            Map<Long, RecoveredHold> holds = new HashMap<>();
+            replayed = journal.replay((slot, delta, hold, expiresAtMillis) -> {
+                if (slot != InventoryJournal.HOLD_COMMITTED) {
+                    cells.addAndGet(slot, delta);
+                }
+                if (hold != 0) {
+                    holds.computeIfAbsent(hold, key -> new RecoveredHold()).apply(slot, delta, expiresAtMillis);
+                }
+            });
+            recoveredHolds = outstanding(holds);
+        }
+        for (ReservationHandle hold : recoveredHolds) {
+            journaledHolds.put(hold.id(), hold);
+            restoreHold(hold);
+        }
+        log.info("Inventory recovered from epoch {} with {} journal records replayed and {} holds re-armed",
+                epoch, replayed, recoveredHolds.size());
+        checkpoint();
+    }
+
+    /** Replaces the whole registry and checkpoints it straight away. */
+    public void load(Map<String, Integer> initialStock) {
+        checkpointLock.writeLock().lock();
+        try {
+            install(initialStock);
+            writeCheckpoint();
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hasStock(String productId, Integer quantity) {
+        Slots current = slots;
+        Integer cell = current.index().get(productId);
+        return cell != null && current.counters().get(cell) >= quantity;
+    }
+
+    @Override
+    public void reserveStock(String productId, Integer quantity) {
+        reserveAll(List.of(new CreateOrderCommand.OrderItemCommand(productId, quantity)));
+    }
+
+    @Override
+    public void releaseStock(String productId, Integer quantity) {
+        releaseAll(List.of(new CreateOrderCommand.OrderItemCommand(productId, quantity)));
+    }
+
+    @Override
+    public void reserveAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        reserve(items, null);
+    }
+
+    @Override
+    public void releaseAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        release(items, null);
+    }
+
+    @Override
+    protected void reserveHold(ReservationHandle handle) {
+        reserve(handle.items(), handle);
+    }
+
+    @Override
+    protected void releaseHold(ReservationHandle handle) {
+        release(handle.items(), handle);
+    }
+
+    @Override
+    protected void holdCommitted(ReservationHandle handle) {
+        while (true) {
+            checkpointLock.readLock().lock();
+            try {
+                long record = journal.claim(1);
+                if (record >= 0) {
+                    journal.write(record, InventoryJournal.HOLD_COMMITTED, 0, holdKey(handle), 0);
+                    journaledHolds.remove(handle.id());
+                    return;
+                }
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+            checkpoint();
+        }
+    }
+
+    private void reserve(List<CreateOrderCommand.OrderItemCommand> items, ReservationHandle hold) {
+        long key = hold == null ? 0 : holdKey(hold);
+        long expiresAtMillis = hold == null ? 0 : hold.expiresAt().toEpochMilli();
+        Map<String, Integer> demand = aggregate(items);
+        int lines = demand.size();
+
+        while (true) {
+            checkpointLock.readLock().lock();
+            try {
+                // Resolved under the lock, so a concurrent load cannot swap the slots in between.
+                Slots current = slots;
+                int[] cells = new int[lines];
+                int[] quantities = new int[lines];
+                int line = 0;
+                for (Map.Entry<String, Integer> entry : demand.entrySet()) {
+                    cells[line] = current.cellFor(entry.getKey());
+                    quantities[line] = entry.getValue();
+                    line++;
+                }
+                long record = journal.claim(lines);
+                if (record >= 0) {
+                    int failedLine = applyReservation(current.counters(), cells, quantities);
+                    // Claimed records are always written, as no-ops on failure, so only a crash leaves a gap.
+                    for (int i = 0; i < lines; i++) {
+                        journal.write(record + i, cells[i], failedLine < 0 ? -quantities[i] : 0, key, expiresAtMillis);
+                    }
+                    if (failedLine >= 0) {
+                        throw new InsufficientStockException(current.productIds()[cells[failedLine] / SLOT_STRIDE]);
+                    }
+                    if (hold != null) {
+                        journaledHolds.put(hold.id(), hold);
+                    }
+                    return;
+                }
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+            checkpoint();
+        }
+    }
+
+    private void release(List<CreateOrderCommand.OrderItemCommand> items, ReservationHandle hold) {
+        long key = hold == null ? 0 : holdKey(hold);
+        Map<String, Integer> demand = aggregate(items);
+
+        while (true) {
+            checkpointLock.readLock().lock();
+            try {
+                // Unknown products are skipped; resolved under the lock, like a reservation.
+                Slots current = slots;
+                Map<Integer, Integer> byCell = new LinkedHashMap<>();
+                demand.forEach((productId, quantity) -> {
+                    Integer cell = current.index().get(productId);
+                    if (cell != null) {
+                        byCell.put(cell, quantity);
+                    }
+                });
+                if (byCell.isEmpty()) {
+                    if (hold != null) {
+                        journaledHolds.remove(hold.id());
+                    }
+                    return;
+                }
+                long record = journal.claim(byCell.size());
+                if (record >= 0) {
+                    for (Map.Entry<Integer, Integer> entry : byCell.entrySet()) {
+                        current.counters().addAndGet(entry.getKey(), entry.getValue());
+                        journal.write(record++, entry.getKey(), entry.getValue(), key, 0);
+                    }
+                    if (hold != null) {
+                        journaledHolds.remove(hold.id());
+                    }
+                    return;
+                }
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+            checkpoint();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.mapped.checkpoint-interval-ms:30000}")
+    public void checkpoint() {
+        checkpointLock.writeLock().lock();
+        try {
+            writeCheckpoint();
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.mapped.flush-interval-ms:1000}")
+    public void flush() {
+        journal.force();
+    }
+
+    @PreDestroy
+    public void close() {
+        releaseActiveHolds();
+        checkpoint();
+        journal.close();
+    }
+
+    private void writeCheckpoint() {
+        long nextEpoch = epoch + 1;
+        List<ReservationHandle> holds = List.copyOf(journaledHolds.values());
+        Map<String, Integer> stock = currentStock();
+        for (ReservationHandle hold : holds) {
+            aggregate(hold.items()).forEach((productId, quantity) -> stock.merge(productId, quantity, Integer::sum));
+        }
+        new InventorySnapshot(nextEpoch, stock).writeTo(directory.resolve(SNAPSHOT_FILE));
+        // A crash before this reset leaves an older journal epoch behind, which startup ignores. The
+        // snapshot then counts the outstanding holds as available; their later commit re-reserves.
+        journal.reset(nextEpoch);
+        epoch = nextEpoch;
+        for (ReservationHandle hold : holds) {
+            Map<String, Integer> demand = aggregate(hold.items());
+            long record = journal.claim(demand.size());
+            if (record < 0) {
+                throw new IllegalStateException("Inventory journal is too small for the " + holds.size() + " outstanding holds");
+            }
+            for (Map.Entry<String, Integer> entry : demand.entrySet()) {
+                journal.write(record++, slots.cellFor(entry.getKey()), -entry.getValue(), holdKey(hold), hold.expiresAt().toEpochMilli());
+            }
+        }
+    }
+
+    private void install(Map<String, Integer> stock) {
+        Map<String, Integer> index = new HashMap<>();
+        String[] ids = new String[stock.size()];
+        AtomicIntegerArray cells = new AtomicIntegerArray(stock.size() * SLOT_STRIDE);
+        int slot = 0;
+        for (Map.Entry<String, Integer> entry : stock.entrySet()) {
+            index.put(entry.getKey(), slot * SLOT_STRIDE);
+            ids[slot] = entry.getKey();
+            cells.set(slot * SLOT_STRIDE, entry.getValue());
+            slot++;
+        }
+        this.slots = new Slots(Map.copyOf(index), ids, cells);
+    }
+
+    private Map<String, Integer> currentStock() {
+        Slots current = slots;
+        Map<String, Integer> stock = new LinkedHashMap<>();
+        for (int slot = 0; slot < current.productIds().length; slot++) {
+            stock.put(current.productIds()[slot], current.counters().get(slot * SLOT_STRIDE));
+        }
+        return stock;
+    }
+
+    /** Returns the index of the line that could not be reserved, or -1 when all of them were. */
+    private static int applyReservation(AtomicIntegerArray counts, int[] cells, int[] quantities) {
+        for (int i = 0; i < cells.length; i++) {
+            if (!tryDecrement(counts, cells[i], quantities[i])) {
+                for (int j = 0; j < i; j++) {
+                    counts.addAndGet(cells[j], quantities[j]);
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean tryDecrement(AtomicIntegerArray counts, int cell, int quantity) {
+        while (true) {
+            int currentStock = counts.get(cell);
+            if (currentStock < quantity) {
+                return false;
+            }
+            if (counts.compareAndSet(cell, currentStock, currentStock - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    /** Holds that were neither committed nor fully released when the journal was last written. */
+    private List<ReservationHandle> outstanding(Map<Long, RecoveredHold> holds) {
+        String[] productIds = slots.productIds();
+        List<ReservationHandle> outstanding = new ArrayList<>();
+        for (RecoveredHold hold : holds.values()) {
+            if (hold.committed) {
+                continue;
+            }
+            List<CreateOrderCommand.OrderItemCommand> items = new ArrayList<>();
+            hold.netBySlot.forEach((cell, net) -> {
+                if (net < 0) {
+                    items.add(new CreateOrderCommand.OrderItemCommand(productIds[cell / SLOT_STRIDE], -net));
+                }
+            });
+            if (!items.isEmpty()) {
+                outstanding.add(new ReservationHandle(UUID.randomUUID(), List.copyOf(items), Instant.ofEpochMilli(hold.expiresAtMillis)));
+            }
+        }
+        return outstanding;
+    }
+
+    private static long holdKey(ReservationHandle handle) {
+        long key = handle.id().getMostSignificantBits() ^ handle.id().getLeastSignificantBits();
+        return key == 0 ? 1 : key;
+    }
+
+    private static final class RecoveredHold {
+        private final Map<Integer, Integer> netBySlot = new HashMap<>();
+        private long expiresAtMillis;
+        private boolean committed;
+
+        /** Only the reservation records carry the expiry; releases and the commit marker write 0. */
+        private void apply(int slot, int delta, long recordExpiresAtMillis) {
+            expiresAtMillis = Math.max(expiresAtMillis, recordExpiresAtMillis);
+            if (slot == InventoryJournal.HOLD_COMMITTED) {
+                committed = true;
+            } else {
+                netBySlot.merge(slot, delta, Integer::sum);
+            }
+        }
+    }
+
+    /** The slot index, the product of each slot and the counters, published together. */
+    private record Slots(Map<String, Integer> index, String[] productIds, AtomicIntegerArray counters) {
+
+        int cellFor(String productId) {
+            Integer cell = index.get(productId);
+            if (cell == null) {
+                throw new BusinessException(ErrorCode.INVENTORY_RECORD_NOT_FOUND, "No inventory record for: " + productId);
+            }
+            return cell;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.peerislands.ecommerce.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.cache")
+public record OrderCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumOrders,
+        @DefaultValue("10000") long maximumCustomers,
+        @DefaultValue("10s") Duration ttl
+) {}
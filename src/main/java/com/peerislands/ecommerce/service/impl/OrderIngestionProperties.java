@@ -0,0 +1,15 @@
+package com.peerislands.ecommerce.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.ingestion")
+public record OrderIngestionProperties(
+        @DefaultValue("direct") String mode,
+        @DefaultValue("64") int batchSize,
+        @DefaultValue("5ms") Duration maxWait,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("30s") Duration commitTimeout
+) {}
@@ -0,0 +1,173 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Local read cache for single orders (by id) and for each customer's first listing page per
+ * (status, size). Both are bounded and expire after {@code orders.cache.ttl}.
+ *
+ * <p>The processing and archive jobs, and writes on other nodes, change orders without evicting
+ * here, so a hit is only served once it is checked against the database: an order by its current
+ * {@code version}, a page by the customer's {@link CustomerOrdersStamp}, which the caller reads
+ * before loading the page it stores. A hit that fails the check is dropped and counted as stale.
+ *
+ * <p>Writes on this node also evict after commit through {@link OrdersChangedEvent}. A reader takes a
+ * {@link #ticket()} before going to the database; an eviction for the same customer after that
+ * ticket makes its {@code put} a no-op, so a value read before the commit is never cached after it.
+ * Per id, an older {@code version} never replaces a newer one.
+ */
+@Component
+public class OrderReadCache {
+
+    private final boolean enabled;
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<UUID, CachedOrder> byId;
+    private final Cache<String, Map<PageKey, CachedPage>> firstPages;
+    private final Cache<String, Long> evictedAt;
+    private final Counter staleOrders;
+    private final Counter stalePages;
+
+    public OrderReadCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.maximumOrders())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(properties.maximumCustomers())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        // Marks only need to outlive the slowest read that could race an eviction.
+        this.evictedAt = Caffeine.newBuilder()
+                .maximumSize(properties.maximumCustomers() * 10)
+                .expireAfterWrite(properties.ttl().plus(Duration.ofMinutes(1)))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "orders.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPages, "orders.first-page");
+        Gauge.builder("orders.cache.hit.ratio", byId, c -> c.stats().hitRate()).tag("cache", "orders.by-id").register(meterRegistry);
+        Gauge.builder("orders.cache.hit.ratio", firstPages, c -> c.stats().hitRate()).tag("cache", "orders.first-page").register(meterRegistry);
+        this.staleOrders = Counter.builder("orders.cache.stale").tag("cache", "orders.by-id")
+                .description("Cache hits dropped because the order changed since it was cached")
+                .register(meterRegistry);
+        this.stalePages = Counter.builder("orders.cache.stale").tag("cache", "orders.first-page")
+                .description("Cache hits dropped because the customer's orders changed since the page was cached")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long ticket() {
+        return clock.get();
+    }
+
+    /** The cached order if {@code currentVersion}, asked only on a hit, still matches the version it was cached with. */
+    public Order getOrder(UUID id, Supplier<Optional<Integer>> currentVersion) {
+        if (!enabled) {
+            return null;
+        }
+        CachedOrder cached = byId.getIfPresent(id);
+        if (cached == null) {
+            return null;
+        }
+        if (currentVersion.get().filter(version -> version.equals(cached.version())).isPresent()) {
+            return cached.order();
+        }
+        byId.asMap().remove(id, cached);
+        staleOrders.increment();
+        return null;
+    }
+
+    public void putOrder(Order order, Integer version, long ticket) {
+        if (!enabled || evictedSince(order.customerId(), ticket)) {
+            return;
+        }
+        byId.asMap().merge(order.id(), new CachedOrder(order, version), OrderReadCache::newer);
+        if (evictedSince(order.customerId(), ticket)) {
+            byId.invalidate(order.id());
+        }
+    }
+
+    /** The cached page if it was stored with the customer's {@code current} stamp. */
+    public Page<Order> getFirstPage(String customerId, OrderStatus status, int size, CustomerOrdersStamp current) {
+        if (!enabled) {
+            return null;
+        }
+        Map<PageKey, CachedPage> pages = firstPages.getIfPresent(customerId);
+        CachedPage cached = pages == null ? null : pages.get(new PageKey(status, size));
+        if (cached == null) {
+            return null;
+        }
+        if (Objects.equals(cached.stamp(), current)) {
+            return cached.page();
+        }
+        pages.remove(new PageKey(status, size), cached);
+        stalePages.increment();
+        return null;
+    }
+
+    /** {@code stamp} must be read before the page, so a change in between makes the next check fail rather than pass. */
+    public void putFirstPage(String customerId, OrderStatus status, int size, Page<Order> page, CustomerOrdersStamp stamp, long ticket) {
+        if (!enabled || evictedSince(customerId, ticket)) {
+            return;
+        }
+        firstPages.get(customerId, id -> new ConcurrentHashMap<>()).put(new PageKey(status, size), new CachedPage(page, stamp));
+        if (evictedSince(customerId, ticket)) {
+            firstPages.invalidate(customerId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        long mark = clock.incrementAndGet();
+        for (OrderRef order : event.orders()) {
+            evictedAt.put(order.customerId(), mark);
+            byId.invalidate(order.id());
+            firstPages.invalidate(order.customerId());
+        }
+    }
+
+    private boolean evictedSince(String customerId, long ticket) {
+        Long mark = evictedAt.getIfPresent(customerId);
+        return mark != null && mark > ticket;
+    }
+
+    private static CachedOrder newer(CachedOrder current, CachedOrder candidate) {
+        if (current.version() == null || candidate.version() == null) {
+            return candidate;
+        }
+        return candidate.version() >= current.version() ? candidate : current;
+    }
+
+    private record CachedOrder(Order order, Integer version) {}
+
+    private record CachedPage(Page<Order> page, CustomerOrdersStamp stamp) {}
+
+    private record PageKey(OrderStatus status, int size) {}
+}
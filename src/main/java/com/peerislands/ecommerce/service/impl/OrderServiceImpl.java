@@ -1,112 +1,277 @@
 package com.peerislands.ecommerce.service.impl;
 
+import com.peerislands.ecommerce.datasource.ReadRouting;
 import com.peerislands.ecommerce.entity.OrderEntity;
 import com.peerislands.ecommerce.entity.OrderItemEntity;
 import com.peerislands.ecommerce.model.OrderStatus;
 import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
 import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
 import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderCursor;
 import com.peerislands.ecommerce.model.OrderItem;
+import com.peerislands.ecommerce.model.OrderResult;
 import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import com.peerislands.ecommerce.repository.OrderHistoryRepository;
 import com.peerislands.ecommerce.repository.OrderRepository;
+import com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp;
+import com.peerislands.ecommerce.repository.projection.OrderItemView;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.repository.projection.OrderSummaryView;
 import com.peerislands.ecommerce.service.CatalogService;
 import com.peerislands.ecommerce.service.InventoryService;
 import com.peerislands.ecommerce.service.OrderService;
-import com.peerislands.ecommerce.service.validator.OrderValidator;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.service.validator.OrderValidationPipeline;
+import com.peerislands.ecommerce.tracing.Span;
+import com.peerislands.ecommerce.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final Duration RESERVATION_TTL = Duration.ofMinutes(2);
+    /** {@code id} breaks {@code createdAt} ties, so offset pages neither repeat nor skip orders created in the same instant. */
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final OrderRepository orderRepository;
+    private final OrderHistoryRepository orderHistoryRepository;
     private final CatalogService catalogService;
     private final InventoryService inventoryService;
-    private final List<OrderValidator> orderValidators;
+    private final OrderValidationPipeline validationPipeline;
+    private final OrderReadCache orderCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderServiceMetrics metrics;
+    private final Tracer tracer;
+    private final ReadRouting readRouting;
 
     @Override
     @Transactional
     public Order createOrder(CreateOrderCommand command) {
+        return metrics.recordCreate(() -> placeOrder(command));
+    }
+
+    private Order placeOrder(CreateOrderCommand command) {
+        tracer.traceCommit("order.commit");
+        try (Span ignored = tracer.span("order.create")) {
+            PreparedOrder prepared = prepare(command);
+            try {
+                OrderEntity savedEntity = orderRepository.save(prepared.entity());
+                commitOnSuccess(prepared.hold());
+                publishChanged(List.of(savedEntity));
+                return mapToDomain(savedEntity);
+            } catch (Exception e) {
+                inventoryService.abort(prepared.hold());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Creates all accepted orders in one transaction. Orders rejected by validation or stock are
+     * reported in their slot and do not affect the others; a failure while writing rolls back the batch.
+     */
+    @Override
+    @Transactional
+    public List<OrderResult> createOrders(List<CreateOrderCommand> commands) {
+        tracer.traceCommit("order.commit");
+        OrderResult[] results = new OrderResult[commands.size()];
+        List<OrderEntity> accepted = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                PreparedOrder prepared = prepare(commands.get(i));
+                commitOnSuccess(prepared.hold());
+                accepted.add(prepared.entity());
+            } catch (BusinessException e) {
+                results[i] = OrderResult.failure(e);
+            }
+        }
+
+        List<OrderEntity> savedEntities = orderRepository.saveAll(accepted);
+        // Flush now so insert-time values such as createdAt are on the entities we map and return.
+        orderRepository.flush();
+        publishChanged(savedEntities);
+        Iterator<OrderEntity> saved = savedEntities.iterator();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = OrderResult.success(mapToDomain(saved.next()));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /** Validates the lines, prices them and reserves stock; nothing is written yet. */
+    private PreparedOrder prepare(CreateOrderCommand command) {
         OrderEntity entity = OrderEntity.builder()
                 .customerId(command.customerId())
                 .status(OrderStatus.PENDING)
                 .build();
 
-        List<OrderItemEntity> items = command.items().stream()
-                .map(cmd -> {
-                    Product product = catalogService.getProduct(cmd.productId());
-
-                    orderValidators.forEach(v -> v.validate(cmd, product));
+        Map<String, Product> productsById;
+        try (Span ignored = tracer.span("catalog.lookup")) {
+            productsById = catalogService.getProducts(command.items().stream()
+                    .map(CreateOrderCommand.OrderItemCommand::productId)
+                    .collect(Collectors.toSet()));
+        }
 
-                    inventoryService.reserveStock(product.id(), cmd.quantity());
+        List<OrderItemEntity> items;
+        try (Span ignored = tracer.span("order.validate")) {
+            items = command.items().stream()
+                    .map(cmd -> {
+                        Product product = productsById.get(cmd.productId());
+                        validationPipeline.validate(cmd, product);
 
-                    return OrderItemEntity.builder()
-                            .productId(product.id())
-                            .quantity(cmd.quantity())
-                            .price(product.price())
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        entity.setItems(items);
+                        return OrderItemEntity.builder()
+                                .productId(product.id())
+                                .quantity(cmd.quantity())
+                                .price(product.price())
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+        }
 
-        try {
-            OrderEntity savedEntity = orderRepository.save(entity);
-            return mapToDomain(savedEntity);
-        } catch (Exception e) {
-            for (OrderItemEntity item : items) {
-                inventoryService.releaseStock(item.getProductId(), item.getQuantity());
-            }
-            throw e;
+        ReservationHandle hold;
+        try (Span ignored = tracer.span("inventory.reserve")) {
+            hold = validationPipeline.reserve(command.items(), productsById, RESERVATION_TTL);
         }
+        items.forEach(entity::addItem);
+        return new PreparedOrder(entity, hold);
     }
 
     @Override
     public Order getOrder(UUID id, String customerId) {
-        OrderEntity entity = orderRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order not found: " + id));
+        // Checked against the current version: the jobs and other nodes change orders without evicting here.
+        Order order = orderCache.getOrder(id, () -> readRouting.read(customerId, () -> orderRepository.findVersionById(id)));
+        if (order == null) {
+            long ticket = orderCache.ticket();
+            OrderEntity entity = readRouting.read(customerId, () -> orderRepository.findWithItemsById(id))
+                    .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order not found: " + id));
+            order = mapToDomain(entity);
+            orderCache.putOrder(order, entity.getVersion(), ticket);
+        }
 
-        if (!entity.getCustomerId().equals(customerId)) {
+        if (!order.customerId().equals(customerId)) {
             throw new BusinessException(ErrorCode.ACCESS_DENIED);
         }
-        return mapToDomain(entity);
+        return order;
     }
 
     @Override
-    public Page<Order> getAllOrders(String customerId, String statusFilter, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<OrderEntity> entities;
+    public Page<Order> getAllOrders(String customerId, String statusFilter, int page, int size, boolean includeArchived) {
+        return metrics.recordList(() -> includeArchived
+                ? listOrderHistory(customerId, statusFilter, page, size)
+                : listOrders(customerId, statusFilter, page, size));
+    }
 
-        if (statusFilter != null && !statusFilter.isBlank()) {
-            try {
-                OrderStatus status = OrderStatus.valueOf(statusFilter.toUpperCase());
-                entities = orderRepository.findByCustomerIdAndStatus(customerId, status, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid status: " + statusFilter);
+    private Page<Order> listOrders(String customerId, String statusFilter, int page, int size) {
+        OrderStatus status = parseStatus(statusFilter);
+        long ticket = orderCache.ticket();
+        CustomerOrdersStamp stamp = null;
+        if (page == 0 && orderCache.isEnabled()) {
+            stamp = readRouting.read(customerId, () -> orderRepository.findStampByCustomerId(customerId));
+            Page<Order> cached = orderCache.getFirstPage(customerId, status, size, stamp);
+            if (cached != null) {
+                return cached;
             }
-        } else {
-            entities = orderRepository.findByCustomerId(customerId, pageable);
         }
 
-        return entities.map(this::mapToDomain);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        Page<Order> orders = readRouting.read(customerId, () -> {
+            Page<OrderSummaryView> summaries = status != null
+                    ? orderRepository.findSummariesByCustomerIdAndStatus(customerId, status, pageable)
+                    : orderRepository.findSummariesByCustomerId(customerId, pageable);
+            return new PageImpl<>(withItems(summaries.getContent()), summaries.getPageable(), summaries.getTotalElements());
+        });
+        if (stamp != null) {
+            orderCache.putFirstPage(customerId, status, size, orders, stamp, ticket);
+        }
+        return orders;
+    }
+
+    /** Same listing over hot and archived orders. Not cached: history is rarely asked for and mostly immutable. */
+    private Page<Order> listOrderHistory(String customerId, String statusFilter, int page, int size) {
+        OrderStatus status = parseStatus(statusFilter);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        return readRouting.read(customerId, () -> {
+            Page<OrderSummaryView> summaries = status != null
+                    ? orderHistoryRepository.findSummariesByCustomerIdAndStatus(customerId, status, pageable)
+                    : orderHistoryRepository.findSummariesByCustomerId(customerId, pageable);
+            List<Order> orders = withItems(summaries.getContent(), orderHistoryRepository::findItemViewsByOrderIds);
+            return new PageImpl<>(orders, summaries.getPageable(), summaries.getTotalElements());
+        });
+    }
+
+    @Override
+    public CursorPage<Order> scrollOrders(String customerId, String statusFilter, String cursor, int size, boolean includeTotal) {
+        return readRouting.read(customerId, () -> scroll(customerId, statusFilter, cursor, size, includeTotal));
+    }
+
+    private CursorPage<Order> scroll(String customerId, String statusFilter, String cursor, int size, boolean includeTotal) {
+        OrderStatus status = parseStatus(statusFilter);
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            position = ScrollPosition.forward(Map.of("createdAt", after.createdAt(), "id", after.id()));
+        }
+
+        Window<OrderEntity> window = status != null
+                ? orderRepository.findByCustomerIdAndStatus(customerId, status, position, NEWEST_FIRST, Limit.of(size))
+                : orderRepository.findByCustomerId(customerId, position, NEWEST_FIRST, Limit.of(size));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            OrderEntity last = window.getContent().getLast();
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = status != null
+                    ? orderRepository.countByCustomerIdAndStatus(customerId, status)
+                    : orderRepository.countByCustomerId(customerId);
+        }
+
+        List<OrderSummaryView> summaries = window.getContent().stream()
+                .map(e -> new OrderSummaryView(e.getId(), e.getCustomerId(), e.getStatus(), e.getCreatedAt()))
+                .toList();
+        return new CursorPage<>(withItems(summaries), nextCursor, totalElements);
     }
 
     @Override
     @Transactional
     public Order cancelOrder(UUID id, String customerId) {
-        OrderEntity entity = orderRepository.findById(id)
+        return metrics.recordCancel(() -> cancel(id, customerId));
+    }
+
+    private Order cancel(UUID id, String customerId) {
+        OrderEntity entity = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order not found: " + id));
 
         if (!entity.getCustomerId().equals(customerId)) {
@@ -121,18 +286,99 @@ public class OrderServiceImpl implements OrderService {
             throw new BusinessException(ErrorCode.INVALID_ORDER_STATUS, "Current status: " + entity.getStatus());
         }
 
-        for (OrderItemEntity item : entity.getItems()) {
-            inventoryService.releaseStock(item.getProductId(), item.getQuantity());
+        entity.setStatus(OrderStatus.CANCELLED);
+        OrderEntity saved = orderRepository.save(entity);
+        releaseOnCommit(saved.getItems().stream()
+                .map(item -> new CreateOrderCommand.OrderItemCommand(item.getProductId(), item.getQuantity()))
+                .toList());
+        publishChanged(List.of(saved));
+        return mapToDomain(saved);
+    }
+
+    /** Loads the items of a whole page with one query and attaches them to their orders. */
+    private List<Order> withItems(List<OrderSummaryView> summaries) {
+        return withItems(summaries, orderRepository::findItemViewsByOrderIds);
+    }
+
+    private List<Order> withItems(List<OrderSummaryView> summaries, Function<List<UUID>, List<OrderItemView>> itemLoader) {
+        if (summaries.isEmpty()) {
+            return List.of();
         }
+        List<UUID> orderIds = summaries.stream().map(OrderSummaryView::id).toList();
+        Map<UUID, List<OrderItem>> itemsByOrder = itemLoader.apply(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemView::orderId,
+                        Collectors.mapping(i -> new OrderItem(i.productId(), i.quantity(), i.price()), Collectors.toList())));
 
-        entity.setStatus(OrderStatus.CANCELLED);
-        return mapToDomain(orderRepository.save(entity));
+        return summaries.stream()
+                .map(s -> new Order(s.id(), s.customerId(), s.status(), itemsByOrder.getOrDefault(s.id(), List.of()), s.createdAt()))
+                .toList();
+    }
+
+    private OrderStatus parseStatus(String statusFilter) {
+        if (statusFilter == null || statusFilter.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(statusFilter.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid status: " + statusFilter);
+        }
+    }
+
+    /** Lets read caches evict these orders once the surrounding transaction commits. */
+    private void publishChanged(List<OrderEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(new OrdersChangedEvent(entities.stream()
+                .map(e -> new OrderRef(e.getId(), e.getCustomerId()))
+                .toList()));
+    }
+
+    private void commitOnSuccess(ReservationHandle hold) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inventoryService.commit(hold);
+            return;
+        }
+        // Keep the hold until the order row is durable; a rollback at flush or commit time
+        // returns the stock instead of leaking it.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inventoryService.commit(hold);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    inventoryService.abort(hold);
+                }
+            }
+        });
     }
 
-    private Order mapToDomain(OrderEntity entity) {
+    private void releaseOnCommit(List<CreateOrderCommand.OrderItemCommand> items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inventoryService.releaseAll(items);
+            return;
+        }
+        // Return the stock only once the cancellation is durable; a version conflict with the
+        // processing job or a concurrent cancel rolls back without handing the stock out twice.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inventoryService.releaseAll(items);
+            }
+        });
+    }
+
+    /** Static so it can be measured without building the service. */
+    static Order mapToDomain(OrderEntity entity) {
         List<OrderItem> items = entity.getItems().stream()
                 .map(i -> new OrderItem(i.getProductId(), i.getQuantity(), i.getPrice()))
                 .collect(Collectors.toList());
         return new Order(entity.getId(), entity.getCustomerId(), entity.getStatus(), items, entity.getCreatedAt());
     }
-}
\ No newline at end of file
+
+    private record PreparedOrder(OrderEntity entity, ReservationHandle hold) {}
+}
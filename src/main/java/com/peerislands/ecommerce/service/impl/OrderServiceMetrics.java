@@ -0,0 +1,71 @@
+package com.peerislands.ecommerce.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Latency timers for the order service entry points, published as {@code orders.service{operation}}
+ * with percentile histograms so p50/p99 can be aggregated across nodes in Prometheus.
+ *
+ * <p>Timers are built once; recording is a clock read and a histogram increment. Inside a
+ * transaction the sample stops when the transaction completes, so commit time is included.
+ */
+@Component
+public class OrderServiceMetrics {
+
+    private final Timer create;
+    private final Timer cancel;
+    private final Timer list;
+
+    public OrderServiceMetrics(MeterRegistry meterRegistry) {
+        this.create = timer("create", meterRegistry);
+        this.cancel = timer("cancel", meterRegistry);
+        this.list = timer("list", meterRegistry);
+    }
+
+    public <T> T recordCreate(Supplier<T> work) {
+        return record(create, work);
+    }
+
+    public <T> T recordCancel(Supplier<T> work) {
+        return record(cancel, work);
+    }
+
+    public <T> T recordList(Supplier<T> work) {
+        return record(list, work);
+    }
+
+    private static <T> T record(Timer timer, Supplier<T> work) {
+        long startedAt = System.nanoTime();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return work.get();
+            } finally {
+                timer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                timer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            }
+        });
+        return work.get();
+    }
+
+    private static Timer timer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("orders.service")
+                .description("Order service call latency, including commit")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.service.CatalogService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Catalog served from a {@link CatalogSnapshot} file. The snapshot is polled for replacement and the
+ * new one is swapped in with a single volatile write; lookups already running finish on the old mapping.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.source", havingValue = "snapshot")
+@Slf4j
+public class SnapshotCatalogServiceImpl implements CatalogService {
+
+    private final Path file;
+    private volatile CatalogSnapshot snapshot;
+    private Object loadedVersion;
+
+    public SnapshotCatalogServiceImpl(@Value("${catalog.snapshot.file:./data/catalog/catalog.snap}") Path file) {
+        this.file = file;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (Files.notExists(file)) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create catalog directory for " + file, e);
+            }
+            CatalogSnapshot.write(List.of(
+                    new Product("PROD-1", "Wireless Mouse", new BigDecimal("25.00")),
+                    new Product("PROD-2", "Mechanical Keyboard", new BigDecimal("150.00")),
+                    new Product("PROD-3", "iPhone 15", new BigDecimal("999.00"))), file);
+        }
+        reloadIfChanged();
+    }
+
+    /** Picks up a snapshot that was atomically moved over {@code file} since the last load. */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.reload-interval-ms:10000}")
+    public synchronized void reloadIfChanged() {
+        Object version = version();
+        if (Objects.equals(version, loadedVersion)) {
+            return;
+        }
+        CatalogSnapshot next = CatalogSnapshot.open(file);
+        snapshot = next;
+        loadedVersion = version;
+        log.info("Catalog snapshot loaded: {} products, {} distinct names", next.size(), next.nameCount());
+    }
+
+    private Object version() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.fileKey() != null
+                    ? List.of(attributes.fileKey(), attributes.lastModifiedTime())
+                    : attributes.lastModifiedTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stat catalog snapshot " + file, e);
+        }
+    }
+
+    @Override
+    public Product getProduct(String productId) {
+        Product product = snapshot.find(productId);
+        if (product == null) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+        }
+        return product;
+    }
+
+    @Override
+    public Map<String, Product> getProducts(Collection<String> productIds) {
+        CatalogSnapshot current = snapshot;
+        Map<String, Product> products = new HashMap<>();
+        for (String productId : productIds) {
+            Product product = current.find(productId);
+            if (product == null) {
+                throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+            }
+            products.put(productId, product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,136 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.exception.InsufficientStockException;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free inventory engine. Each product owns a dense slot index and its count lives in a
+ * primitive, cache-line padded cell that is updated with a decrement-if-sufficient CAS loop,
+ * so a hot SKU never serializes reservations for the others.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "striped")
+public class StripedInventoryServiceImpl extends AbstractInventoryService {
+
+    // 16 ints = 64 bytes between neighbouring counters
+    private static final int SLOT_STRIDE = 16;
+
+    /** Replaced as a whole by {@link #load}, so a reader never pairs one load's index with another's counters. */
+    private volatile Slots slots = new Slots(Map.of(), new AtomicIntegerArray(0));
+
+    @PostConstruct
+    public void init() {
+        Map<String, Integer> initialStock = new LinkedHashMap<>();
+        initialStock.put("PROD-1", 100);
+        initialStock.put("PROD-2", 50);
+        initialStock.put("PROD-3", 2);
+        load(initialStock);
+    }
+
+    public void load(Map<String, Integer> initialStock) {
+        Map<String, Integer> index = new HashMap<>();
+        AtomicIntegerArray cells = new AtomicIntegerArray(initialStock.size() * SLOT_STRIDE);
+        int slot = 0;
+        for (Map.Entry<String, Integer> entry : initialStock.entrySet()) {
+            index.put(entry.getKey(), slot * SLOT_STRIDE);
+            cells.set(slot * SLOT_STRIDE, entry.getValue());
+            slot++;
+        }
+        this.slots = new Slots(Map.copyOf(index), cells);
+    }
+
+    @Override
+    public boolean hasStock(String productId, Integer quantity) {
+        Slots current = slots;
+        Integer cell = current.index().get(productId);
+        return cell != null && current.counters().get(cell) >= quantity;
+    }
+
+    @Override
+    public void reserveStock(String productId, Integer quantity) {
+        Slots current = slots;
+        if (!tryDecrement(current.counters(), current.cellFor(productId), quantity)) {
+            throw new InsufficientStockException(productId);
+        }
+    }
+
+    @Override
+    public void releaseStock(String productId, Integer quantity) {
+        Slots current = slots;
+        Integer cell = current.index().get(productId);
+        if (cell != null) {
+            current.counters().addAndGet(cell, quantity);
+        }
+    }
+
+    /**
+     * Takes the lines one CAS at a time and gives back the ones already taken if a later line is short.
+     * The basket is all or nothing, but not isolated: a concurrent reader can see part of it taken, and
+     * a concurrent basket can fail on stock that is about to be given back.
+     */
+    @Override
+    public void reserveAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        Slots current = slots;
+        Map<String, Integer> demand = aggregate(items);
+
+        String[] productIds = new String[demand.size()];
+        int[] cells = new int[demand.size()];
+        int[] quantities = new int[demand.size()];
+        int lines = 0;
+        for (Map.Entry<String, Integer> entry : demand.entrySet()) {
+            productIds[lines] = entry.getKey();
+            cells[lines] = current.cellFor(entry.getKey());
+            quantities[lines] = entry.getValue();
+            lines++;
+        }
+
+        for (int i = 0; i < lines; i++) {
+            if (!tryDecrement(current.counters(), cells[i], quantities[i])) {
+                for (int j = 0; j < i; j++) {
+                    current.counters().addAndGet(cells[j], quantities[j]);
+                }
+                throw new InsufficientStockException(productIds[i]);
+            }
+        }
+    }
+
+    @Override
+    public void releaseAll(List<CreateOrderCommand.OrderItemCommand> items) {
+        aggregate(items).forEach(this::releaseStock);
+    }
+
+    private static boolean tryDecrement(AtomicIntegerArray counters, int cell, int quantity) {
+        while (true) {
+            int currentStock = counters.get(cell);
+            if (currentStock < quantity) {
+                return false;
+            }
+            if (counters.compareAndSet(cell, currentStock, currentStock - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    /** The slot index and the counters it points into, published together. */
+    private record Slots(Map<String, Integer> index, AtomicIntegerArray counters) {
+
+        int cellFor(String productId) {
+            Integer cell = index.get(productId);
+            if (cell == null) {
+                throw new BusinessException(ErrorCode.INVENTORY_RECORD_NOT_FOUND, "No inventory record for: " + productId);
+            }
+            return cell;
+        }
+    }
+}
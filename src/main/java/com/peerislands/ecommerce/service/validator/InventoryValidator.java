@@ -19,8 +19,17 @@ public class InventoryValidator implements OrderValidator {
     @Override
     public void validate(CreateOrderCommand.OrderItemCommand item, Product product) {
         if (!inventoryService.hasStock(item.productId(), item.quantity())) {
-            throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK,
-                    String.format("Insufficient stock for '%s'.", product.name()));
+            throw insufficientStock(product);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isSatisfiedByReservation() {
+        return true;
+    }
+
+    public static BusinessException insufficientStock(Product product) {
+        return new BusinessException(ErrorCode.INSUFFICIENT_STOCK,
+                String.format("Insufficient stock for '%s'.", product.name()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.peerislands.ecommerce.service.validator;
+
+import com.peerislands.ecommerce.exception.InsufficientStockException;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import com.peerislands.ecommerce.service.InventoryService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the per-line validators and then reserves the basket. Validators that are satisfied by
+ * the reservation are not run up front; the reservation reports their failure instead, with
+ * the same error code and product-name message.
+ */
+@Component
+public class OrderValidationPipeline {
+
+    private final List<OrderValidator> preReservationValidators;
+    private final InventoryService inventoryService;
+
+    public OrderValidationPipeline(List<OrderValidator> orderValidators, InventoryService inventoryService) {
+        this.preReservationValidators = orderValidators.stream()
+                .filter(v -> !v.isSatisfiedByReservation())
+                .toList();
+        this.inventoryService = inventoryService;
+    }
+
+    public void validate(CreateOrderCommand.OrderItemCommand item, Product product) {
+        for (OrderValidator validator : preReservationValidators) {
+            validator.validate(item, product);
+        }
+    }
+
+    public ReservationHandle reserve(List<CreateOrderCommand.OrderItemCommand> items, Map<String, Product> productsById, Duration ttl) {
+        try {
+            return inventoryService.hold(items, ttl);
+        } catch (InsufficientStockException e) {
+            Product product = productsById.get(e.getProductId());
+            throw product != null ? InventoryValidator.insufficientStock(product) : e;
+        }
+    }
+}
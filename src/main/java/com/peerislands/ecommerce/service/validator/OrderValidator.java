@@ -5,4 +5,12 @@ import com.peerislands.ecommerce.model.Product;
 
 public interface OrderValidator {
     void validate(CreateOrderCommand.OrderItemCommand item, Product product);
-}
\ No newline at end of file
+
+    /**
+     * Returns true when the stock reservation enforces this rule atomically, so the
+     * pipeline can skip the separate pre-check on the create path.
+     */
+    default boolean isSatisfiedByReservation() {
+        return false;
+    }
+}
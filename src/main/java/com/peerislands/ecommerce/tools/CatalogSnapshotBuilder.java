@@ -0,0 +1,65 @@
+package com.peerislands.ecommerce.tools;
+
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.service.impl.CatalogSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline build of a {@link CatalogSnapshot} from a CSV of {@code id,name,price} lines:
+ * {@code CatalogSnapshotBuilder products.csv catalog.snap}. Names may contain commas; an optional
+ * {@code id,name,price} header line is skipped and any other malformed line fails the build.
+ * Failures are thrown, so the JVM exits non-zero and tests can call {@link #main} directly.
+ */
+@Slf4j
+public final class CatalogSnapshotBuilder {
+
+    private CatalogSnapshotBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CatalogSnapshotBuilder <products.csv> <catalog.snap>");
+        }
+        List<Product> products = parse(Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8));
+        CatalogSnapshot.write(products, Path.of(args[1]));
+        log.info("Wrote {} products to {}", products.size(), args[1]);
+    }
+
+    static List<Product> parse(List<String> lines) {
+        List<Product> products = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank() || (i == 0 && isHeader(line))) {
+                continue;
+            }
+            int first = line.indexOf(',');
+            int last = line.lastIndexOf(',');
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected id,name,price but was: " + line);
+            }
+            String id = line.substring(0, first).trim();
+            String price = line.substring(last + 1).trim();
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": missing product id");
+            }
+            try {
+                products.add(new Product(id, line.substring(first + 1, last).trim(), new BigDecimal(price)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": invalid price '" + price + "'", e);
+            }
+        }
+        return products;
+    }
+
+    private static boolean isHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase("id,name,price");
+    }
+}
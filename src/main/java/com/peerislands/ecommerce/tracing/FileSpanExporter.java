@@ -0,0 +1,146 @@
+package com.peerislands.ecommerce.tracing;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends spans to {@code tracing.file} as JSON lines. Request threads only enqueue; a single
+ * writer thread does the I/O, and spans are dropped (and counted) when the queue is full.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "file")
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final BlockingQueue<SpanRecord> queue;
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public FileSpanExporter(TracingProperties properties) throws IOException {
+        Path file = properties.file();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(properties.fileQueueCapacity());
+        this.writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.writerThread = new Thread(this::drain, "span-file-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void export(SpanRecord span) {
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drain() {
+        List<SpanRecord> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                SpanRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (SpanRecord span : batch) {
+                    writer.write(toJson(span));
+                    writer.newLine();
+                }
+                batch.clear();
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Span file writer stopped: {}", e.getMessage());
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close span file: {}", e.getMessage());
+            }
+        }
+    }
+
+    static String toJson(SpanRecord span) {
+        StringBuilder json = new StringBuilder(256)
+                .append("{\"traceId\":\"").append(span.traceId())
+                .append("\",\"spanId\":\"").append(span.spanId()).append('"');
+        if (span.parentSpanId() != null) {
+            json.append(",\"parentSpanId\":\"").append(span.parentSpanId()).append('"');
+        }
+        json.append(",\"name\":");
+        quote(json, span.name());
+        json.append(",\"startEpochMicros\":").append(span.startEpochMicros())
+                .append(",\"durationMicros\":").append(span.durationMicros())
+                .append(",\"thread\":");
+        quote(json, span.thread());
+        if (!span.tags().isEmpty()) {
+            json.append(",\"tags\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> tag : span.tags().entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                quote(json, tag.getKey());
+                json.append(':');
+                quote(json, tag.getValue());
+            }
+            json.append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static void quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,41 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/** Keeps the most recent {@code tracing.memory-capacity} spans for the {@code traces} endpoint and tests. */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "memory", matchIfMissing = true)
+public class InMemorySpanCollector implements SpanExporter {
+
+    private final int capacity;
+    private final ArrayDeque<SpanRecord> spans;
+
+    public InMemorySpanCollector(TracingProperties properties) {
+        this.capacity = Math.max(1, properties.memoryCapacity());
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void export(SpanRecord span) {
+        if (spans.size() == capacity) {
+            spans.pollFirst();
+        }
+        spans.addLast(span);
+    }
+
+    public synchronized List<SpanRecord> spans() {
+        return List.copyOf(spans);
+    }
+
+    public synchronized List<SpanRecord> trace(String traceId) {
+        return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
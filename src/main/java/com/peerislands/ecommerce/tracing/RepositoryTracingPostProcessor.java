@@ -0,0 +1,47 @@
+package com.peerislands.ecommerce.tracing;
+
+import com.peerislands.ecommerce.repository.OrderRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the {@link OrderRepository} bean so each call is a {@code repository.<method>} span.
+ * Only registered with {@code tracing.enabled=true}, so the repository is not proxied otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true")
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof OrderRepository)) {
+            return bean;
+        }
+        Map<Method, String> spanNames = new ConcurrentHashMap<>();
+        MethodInterceptor interceptor = invocation -> {
+            String name = spanNames.computeIfAbsent(invocation.getMethod(), method -> "repository." + method.getName());
+            try (Span ignored = tracer.getObject().span(name)) {
+                return invocation.proceed();
+            }
+        };
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(bean);
+        factory.addInterface(OrderRepository.class);
+        factory.addAdvice(interceptor);
+        return factory.getProxy(OrderRepository.class.getClassLoader());
+    }
+}
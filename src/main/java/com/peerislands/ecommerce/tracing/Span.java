@@ -0,0 +1,80 @@
+package com.peerislands.ecommerce.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed stage of a trace, closed with try-with-resources. Spans outside a sampled trace are the
+ * shared {@link #NOOP} instance, so unsampled code pays for a thread-local read and nothing else.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, 0L, 0L, null);
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final long traceId;
+    private final long spanId;
+    private final String name;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final String thread;
+    private Map<String, String> tags;
+    private boolean closed;
+
+    Span(Tracer tracer, Span parent, long traceId, long spanId, String name) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.name = name;
+        this.startNanos = tracer == null ? 0L : System.nanoTime();
+        this.startEpochMicros = tracer == null ? 0L : System.currentTimeMillis() * 1000;
+        this.thread = tracer == null ? null : Thread.currentThread().getName();
+    }
+
+    public boolean isSampled() {
+        return this != NOOP;
+    }
+
+    public Span tag(String key, String value) {
+        if (this != NOOP) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (this == NOOP || closed) {
+            return;
+        }
+        closed = true;
+        tracer.finish(this, new SpanRecord(
+                hex(traceId),
+                hex(spanId),
+                parent == null ? null : hex(parent.spanId),
+                name,
+                startEpochMicros,
+                (System.nanoTime() - startNanos) / 1000,
+                thread,
+                tags == null ? Map.of() : Collections.unmodifiableMap(tags)));
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    long traceId() {
+        return traceId;
+    }
+
+    private static String hex(long id) {
+        String digits = Long.toHexString(id);
+        return "0".repeat(16 - digits.length()) + digits;
+    }
+}
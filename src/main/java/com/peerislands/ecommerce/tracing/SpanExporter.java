@@ -0,0 +1,7 @@
+package com.peerislands.ecommerce.tracing;
+
+/** Receives each finished span on the thread that closed it, so implementations must not block. */
+public interface SpanExporter {
+
+    void export(SpanRecord span);
+}
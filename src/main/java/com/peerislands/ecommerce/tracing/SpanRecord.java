@@ -0,0 +1,15 @@
+package com.peerislands.ecommerce.tracing;
+
+import java.util.Map;
+
+/** A finished span as handed to exporters. Ids are 16-digit hex; times are in microseconds. */
+public record SpanRecord(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        long startEpochMicros,
+        long durationMicros,
+        String thread,
+        Map<String, String> tags
+) {}
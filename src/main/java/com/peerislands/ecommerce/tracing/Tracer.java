@@ -0,0 +1,141 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process tracer. {@link #startTrace} makes the sampling decision for a request or job run; the
+ * stages below it open child spans with {@link #span}, which are no-ops unless the current thread
+ * is inside a sampled trace. {@link #wrap} carries the current span onto worker threads.
+ *
+ * <p>With {@code tracing.enabled=false} every call returns {@link Span#NOOP} after one field read.
+ */
+@Component
+public class Tracer {
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final List<SpanExporter> exporters;
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    public Tracer(TracingProperties properties, List<SpanExporter> exporters) {
+        this.enabled = properties.enabled() && properties.sampleRate() > 0;
+        this.sampleRate = properties.sampleRate();
+        this.exporters = List.copyOf(exporters);
+    }
+
+    /** Starts a root span if this trace is sampled, or a child span when already inside one. */
+    public Span startTrace(String name) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        if (parent != null) {
+            return open(parent, parent.traceId(), name);
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return Span.NOOP;
+        }
+        return open(null, nextId(), name);
+    }
+
+    /** Opens a child of the current span; a no-op outside a sampled trace. */
+    public Span span(String name) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        return parent == null ? Span.NOOP : open(parent, parent.traceId(), name);
+    }
+
+    /**
+     * Records the commit of the surrounding transaction, Hibernate's flush included, as a span
+     * named {@code name} that runs from before-commit until completion.
+     */
+    public void traceCommit(String name) {
+        if (!enabled || current.get() == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Span commit = Span.NOOP;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit = span(name);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                commit.close();
+            }
+        });
+    }
+
+    public Runnable wrap(Runnable task) {
+        Span captured = enabled ? current.get() : null;
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = current.get();
+            current.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Span captured = enabled ? current.get() : null;
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = current.get();
+            current.set(captured);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    void finish(Span span, SpanRecord record) {
+        if (current.get() == span) {
+            restore(span.parent());
+        }
+        for (SpanExporter exporter : exporters) {
+            exporter.export(record);
+        }
+    }
+
+    private Span open(Span parent, long traceId, String name) {
+        Span span = new Span(this, parent, traceId, nextId(), name);
+        current.set(span);
+        return span;
+    }
+
+    private void restore(Span span) {
+        if (span == null) {
+            current.remove();
+        } else {
+            current.set(span);
+        }
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0L);
+        return id;
+    }
+}
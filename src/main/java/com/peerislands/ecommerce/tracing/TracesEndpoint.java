@@ -0,0 +1,32 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** {@code /actuator/traces} lists the collected spans; {@code /actuator/traces/{traceId}} one trace. */
+@Component
+@Endpoint(id = "traces")
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "memory", matchIfMissing = true)
+public class TracesEndpoint {
+
+    private final InMemorySpanCollector collector;
+
+    public TracesEndpoint(InMemorySpanCollector collector) {
+        this.collector = collector;
+    }
+
+    @ReadOperation
+    public List<SpanRecord> spans() {
+        return collector.spans();
+    }
+
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return collector.trace(traceId);
+    }
+}
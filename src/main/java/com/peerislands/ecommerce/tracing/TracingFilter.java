@@ -0,0 +1,49 @@
+package com.peerislands.ecommerce.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the root span of each API request and closes the response-serialization span that
+ * {@link TracingResponseBodyAdvice} leaves open. Not registered unless {@code tracing.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true")
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String SERIALIZE_SPAN = TracingFilter.class.getName() + ".serialize";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (Span span = tracer.startTrace("http.request")) {
+            span.tag("method", request.getMethod()).tag("path", request.getRequestURI());
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (request.getAttribute(SERIALIZE_SPAN) instanceof Span serialize) {
+                    serialize.close();
+                }
+                span.tag("status", String.valueOf(response.getStatus()));
+            }
+        }
+    }
+}
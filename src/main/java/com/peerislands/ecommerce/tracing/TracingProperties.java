@@ -0,0 +1,22 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "tracing")
+public record TracingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("memory") Exporter exporter,
+        @DefaultValue("2000") int memoryCapacity,
+        @DefaultValue("./data/traces/spans.jsonl") Path file,
+        @DefaultValue("10000") int fileQueueCapacity
+) {
+
+    public enum Exporter {
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,44 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Opens an {@code http.serialize} span just before the message converter writes the body;
+ * {@link TracingFilter} closes it once the response has been written.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true")
+public class TracingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    private final Tracer tracer;
+
+    public TracingResponseBodyAdvice(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Span span = tracer.span("http.serialize");
+            if (span.isSampled()) {
+                servletRequest.getServletRequest().setAttribute(TracingFilter.SERIALIZE_SPAN, span);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+-- Tables as Hibernate mapped them under ddl-auto.
+
+create table orders (
+    id          uuid         not null,
+    customer_id varchar(255) not null,
+    status      enum ('CANCELLED','DELIVERED','PENDING','PROCESSING','SHIPPED') not null,
+    created_at  timestamp(6),
+    version     integer,
+    primary key (id)
+);
+
+create table order_items (
+    id         uuid          not null,
+    order_id   uuid          not null,
+    product_id varchar(255)  not null,
+    quantity   integer       not null,
+    price      numeric(38,2) not null,
+    primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders
+);
+
+create table products (
+    id    varchar(255)  not null,
+    name  varchar(255)  not null,
+    price numeric(38,2) not null,
+    primary key (id)
+);
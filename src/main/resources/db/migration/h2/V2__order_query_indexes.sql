@@ -0,0 +1,13 @@
+-- Indexes for the OrderRepository query shapes. H2 has no partial or INCLUDE indexes,
+-- so the PENDING-only indexes of the PostgreSQL set become (status, ...) composites here.
+
+-- Listing, counts and keyset scroll for one customer, newest first.
+create index idx_orders_customer_created on orders (customer_id, created_at desc, id desc);
+create index idx_orders_customer_status_created on orders (customer_id, status, created_at desc, id desc);
+
+-- Processing job: SKIP LOCKED claims by created_at, optimistic keyset by id.
+create index idx_orders_status_created on orders (status, created_at);
+create index idx_orders_status_id on orders (status, id);
+
+-- Loading the items of a page of orders.
+create index idx_order_items_order on order_items (order_id);
@@ -0,0 +1,34 @@
+-- Cold storage for DELIVERED/CANCELLED orders moved out of the hot tables by OrderArchiveJob.
+-- Rows are written once and never updated, so there is no version column.
+
+create table orders_archive (
+    id          uuid         not null,
+    customer_id varchar(255) not null,
+    status      enum ('CANCELLED','DELIVERED','PENDING','PROCESSING','SHIPPED') not null,
+    created_at  timestamp(6) not null,
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table order_items_archive (
+    id         uuid          not null,
+    order_id   uuid          not null,
+    product_id varchar(255)  not null,
+    quantity   integer       not null,
+    price      numeric(38,2) not null,
+    primary key (id)
+);
+
+create index idx_orders_archive_customer_created on orders_archive (customer_id, created_at desc, id desc);
+create index idx_order_items_archive_order on order_items_archive (order_id);
+
+-- Hot and cold rows together, read by OrderHistoryRepository when a listing asks for archived orders.
+create view order_history as
+    select id, customer_id, status, created_at from orders
+    union all
+    select id, customer_id, status, created_at from orders_archive;
+
+create view order_item_history as
+    select id, order_id, product_id, quantity, price from order_items
+    union all
+    select id, order_id, product_id, quantity, price from order_items_archive;
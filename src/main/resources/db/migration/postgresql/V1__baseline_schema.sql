@@ -0,0 +1,29 @@
+-- Tables as Hibernate mapped them under ddl-auto. Databases created that way are
+-- baselined at version 0 (spring.flyway.baseline-on-migrate), so this still runs on them
+-- and creates only the tables they lack, such as products on schemas older than the catalog.
+
+create table if not exists orders (
+    id          uuid         not null,
+    customer_id varchar(255) not null,
+    status      varchar(255) not null check (status in ('PENDING','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+    created_at  timestamp(6),
+    version     integer,
+    primary key (id)
+);
+
+create table if not exists order_items (
+    id         uuid          not null,
+    order_id   uuid          not null,
+    product_id varchar(255)  not null,
+    quantity   integer       not null,
+    price      numeric(38,2) not null,
+    primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders
+);
+
+create table if not exists products (
+    id    varchar(255)  not null,
+    name  varchar(255)  not null,
+    price numeric(38,2) not null,
+    primary key (id)
+);
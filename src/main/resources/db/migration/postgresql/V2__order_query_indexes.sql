@@ -0,0 +1,20 @@
+-- Indexes for the OrderRepository query shapes. Built CONCURRENTLY so existing tables stay
+-- writable; that cannot run in a transaction, see the .conf file next to this script.
+
+-- Listing (index-only: id, customer_id, status, created_at), counts and keyset scroll for one
+-- customer, newest first.
+create index concurrently if not exists idx_orders_customer_created
+    on orders (customer_id, created_at desc, id desc) include (status);
+create index concurrently if not exists idx_orders_customer_status_created
+    on orders (customer_id, status, created_at desc, id desc);
+
+-- Processing job. Only PENDING rows are ever scanned, so both indexes stay as small as the backlog.
+-- SKIP LOCKED claims walk created_at; the optimistic mode pages by id.
+create index concurrently if not exists idx_orders_pending_created
+    on orders (created_at) include (id, customer_id) where status = 'PENDING';
+create index concurrently if not exists idx_orders_pending_id
+    on orders (id) include (created_at, customer_id) where status = 'PENDING';
+
+-- Loading the items of a page of orders (index-only).
+create index concurrently if not exists idx_order_items_order
+    on order_items (order_id) include (product_id, quantity, price);
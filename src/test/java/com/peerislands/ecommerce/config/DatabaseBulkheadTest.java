@@ -0,0 +1,113 @@
+package com.peerislands.ecommerce.config;
+
+import com.peerislands.ecommerce.datasource.ReplicaRoutingDataSource;
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new DatabaseBulkhead(new DatabaseBulkheadProperties(1, Duration.ofMillis(50)));
+        bulkhead.bindTo(meterRegistry);
+    }
+
+    @Test
+    void getConnection_HoldsPermitUntilClosed() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection guarded = bulkhead.wrap(target).getConnection();
+        assertEquals(0, bulkhead.availablePermits());
+
+        guarded.close();
+        guarded.close();
+        assertEquals(1, bulkhead.availablePermits());
+        assertTrue(guarded.isClosed());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_TargetFails_ReturnsPermit() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, () -> bulkhead.wrap(target).getConnection());
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void transaction_HoldsPermitAcrossStatements_ConcurrentTransactionFailsFast() {
+        DataSource dataSource = bulkhead.wrap(new DriverManagerDataSource("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1", "sa", ""));
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        CountDownLatch betweenStatements = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> holder = CompletableFuture.supplyAsync(() -> transactions.execute(status -> {
+            int first = jdbc.queryForObject("select 1", Integer.class);
+            betweenStatements.countDown();
+            await(release);
+            return first + jdbc.queryForObject("select 1", Integer.class);
+        }));
+        await(betweenStatements);
+
+        // no repository call is in flight, yet the open transaction still owns the only permit
+        CannotCreateTransactionException ex = assertThrows(CannotCreateTransactionException.class,
+                () -> transactions.execute(status -> jdbc.queryForObject("select 1", Integer.class)));
+        BusinessException busy = assertInstanceOf(BusinessException.class, ex.getCause());
+        assertEquals(ErrorCode.SERVICE_BUSY, busy.getErrorCode());
+        assertEquals(1.0, meterRegistry.get("orders.bulkhead.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(Integer.valueOf(2), holder.join());
+        assertEquals(1, bulkhead.availablePermits());
+        assertEquals(Integer.valueOf(1), transactions.execute(status -> jdbc.queryForObject("select 1", Integer.class)));
+    }
+
+    @Test
+    void postProcessor_WrapsOnlyTheDataSourceBean() {
+        DataSourceBulkheadPostProcessor postProcessor = new DataSourceBulkheadPostProcessor(
+                new StaticListableBeanFactory(Map.of("bulkhead", bulkhead)).getBeanProvider(DatabaseBulkhead.class));
+        DataSource dataSource = mock(DataSource.class);
+        ReplicaRoutingDataSource routing = mock(ReplicaRoutingDataSource.class);
+
+        assertInstanceOf(BulkheadDataSource.class, postProcessor.postProcessAfterInitialization(dataSource, "dataSource"));
+        assertSame(dataSource, postProcessor.postProcessAfterInitialization(dataSource, "reportingDataSource"));
+        // with replicas on, the primary pool behind the router is wrapped instead
+        assertSame(routing, postProcessor.postProcessAfterInitialization(routing, "dataSource"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
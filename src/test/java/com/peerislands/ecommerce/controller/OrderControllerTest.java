@@ -2,43 +2,72 @@ package com.peerislands.ecommerce.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.peerislands.ecommerce.config.CborConfiguration;
+import com.peerislands.ecommerce.datasource.ReadRouting;
 import com.peerislands.ecommerce.dto.OrderRequest;
 import com.peerislands.ecommerce.model.OrderStatus;
 import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
 import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
 import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderItem;
+import com.peerislands.ecommerce.model.OrderResult;
 import com.peerislands.ecommerce.service.OrderService;
+import com.peerislands.ecommerce.tracing.Tracer;
+import com.peerislands.ecommerce.tracing.TracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(OrderController.class)
+@WebMvcTest(controllers = OrderController.class, properties = {"orders.bulk.chunk-timeout=500ms", "orders.bulk.chunk-size=2"})
+@Import({SimpleMeterRegistry.class, BulkOrderProcessor.class, CborConfiguration.class, Tracer.class})
+@EnableConfigurationProperties({OrderBulkProperties.class, TracingProperties.class})
 class OrderControllerTest {
 
     @Autowired private MockMvc mockMvc;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private CBORMapper cborMapper;
 
     private ObjectMapper objectMapper;
 
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private ReadRouting readRouting;
+
     private final String CUSTOMER_ID = "user-1";
 
     @BeforeEach
@@ -65,6 +94,66 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
+    @Test
+    void getOrder_WritesResponseShapeWithoutPrice() throws Exception {
+        UUID id = UUID.randomUUID();
+        Order order = new Order(id, CUSTOMER_ID, OrderStatus.PROCESSING,
+                List.of(new OrderItem("PROD-1", 2, new BigDecimal("9.99"))), LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        when(orderService.getOrder(id, CUSTOMER_ID)).thenReturn(order);
+
+        mockMvc.perform(get("/api/v1/orders/" + id)
+                        .header("X-User-Id", CUSTOMER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.status").value("PROCESSING"))
+                .andExpect(jsonPath("$.items[0].productId").value("PROD-1"))
+                .andExpect(jsonPath("$.items[0].quantity").value(2))
+                .andExpect(jsonPath("$.items[0].price").doesNotExist())
+                .andExpect(jsonPath("$.createdAt").value("2024-01-02T03:04:05"));
+    }
+
+    @Test
+    void createOrder_Cbor_AcceptsAndReturnsCbor() throws Exception {
+        UUID id = UUID.randomUUID();
+        Order created = new Order(id, CUSTOMER_ID, OrderStatus.PENDING,
+                List.of(new OrderItem("PROD-1", 2, new BigDecimal("9.99"))), LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        when(orderService.createOrder(argThat(command -> command.items().getFirst().quantity() == 2))).thenReturn(created);
+
+        byte[] body = mockMvc.perform(post("/api/v1/orders")
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new OrderRequest(
+                                List.of(new OrderRequest.OrderItemRequest("PROD-1", 2))))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode order = cborMapper.readTree(body);
+        assertArrayEquals(ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array(),
+                order.get("id").binaryValue());
+        assertEquals("PENDING", order.get("status").stringValue());
+        assertEquals(2, order.get("items").get(0).get("quantity").intValue());
+        assertFalse(order.get("items").get(0).has("price"));
+        assertEquals("2024-01-02T03:04:05", order.get("createdAt").stringValue());
+    }
+
+    @Test
+    void getOrder_NotFound_Cbor_ReturnsCborError() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(orderService.getOrder(id, CUSTOMER_ID))
+                .thenThrow(new BusinessException(ErrorCode.ORDER_NOT_FOUND));
+
+        byte[] body = mockMvc.perform(get("/api/v1/orders/" + id)
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("ORD_001", cborMapper.readTree(body).get("code").stringValue());
+    }
+
     @Test
     void createOrder_InvalidInput_Returns400() throws Exception {
         OrderRequest request = new OrderRequest(
@@ -84,17 +173,20 @@ class OrderControllerTest {
         UUID id = UUID.randomUUID();
         when(orderService.getOrder(id, CUSTOMER_ID))
                 .thenThrow(new BusinessException(ErrorCode.ORDER_NOT_FOUND));
+        double before = meterRegistry.get("api.errors").tag("error", "ORDER_NOT_FOUND").counter().count();
 
         mockMvc.perform(get("/api/v1/orders/" + id)
                         .header("X-User-Id", CUSTOMER_ID))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.code").value("ORD_001"));
+
+        assertEquals(before + 1, meterRegistry.get("api.errors").tag("error", "ORDER_NOT_FOUND").counter().count());
     }
 
     @Test
     void getAllOrders_ReturnsPagedResponse() throws Exception {
         Page<Order> emptyPage = new PageImpl<>(Collections.emptyList());
-        when(orderService.getAllOrders(anyString(), any(), anyInt(), anyInt()))
+        when(orderService.getAllOrders(anyString(), any(), anyInt(), anyInt(), anyBoolean()))
                 .thenReturn(emptyPage);
 
         mockMvc.perform(get("/api/v1/orders")
@@ -103,4 +195,148 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(0))
                 .andExpect(jsonPath("$.page").value(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrdersByCursor_ReturnsNextCursor() throws Exception {
+        Order order = new Order(UUID.randomUUID(), CUSTOMER_ID, OrderStatus.PENDING, Collections.emptyList(), LocalDateTime.now());
+        when(orderService.scrollOrders(CUSTOMER_ID, null, "", 1, false))
+                .thenReturn(new CursorPage<>(List.of(order), "abc", null));
+
+        mockMvc.perform(get("/api/v1/orders")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header("X-User-Id", CUSTOMER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.content[0].customerId").value(CUSTOMER_ID));
+    }
+
+    @Test
+    void createOrders_Ndjson_StreamsOneResultPerOrder() throws Exception {
+        Order created = new Order(UUID.randomUUID(), CUSTOMER_ID, OrderStatus.PENDING, Collections.emptyList(), LocalDateTime.now());
+        when(orderService.createOrders(anyList())).thenReturn(List.of(
+                OrderResult.success(created),
+                OrderResult.failure(new BusinessException(ErrorCode.INSUFFICIENT_STOCK))));
+
+        String body = """
+                {"items":[{"productId":"PROD-1","quantity":1}]}
+                {"items":[{"productId":"PROD-1","quantity":0}]}
+                {"items":[{"productId":"PROD-3","quantity":5}]}
+                """;
+        MvcResult started = mockMvc.perform(post("/api/v1/orders/bulk")
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(3, lines.length);
+        // rejected by validation, so written before the chunk completes
+        assertTrue(lines[0].contains("\"index\":1") && lines[0].contains("\"code\":\"" + ErrorCode.INVALID_REQUEST.getCode()));
+        assertTrue(lines[1].contains("\"index\":0") && lines[1].contains(created.id().toString()));
+        assertTrue(lines[2].contains("\"index\":2") && lines[2].contains(ErrorCode.INSUFFICIENT_STOCK.getCode()));
+        verify(orderService).createOrders(argThat(commands -> commands.size() == 2));
+    }
+
+    @Test
+    void createOrders_JsonArray_IsAcceptedToo() throws Exception {
+        Order created = new Order(UUID.randomUUID(), CUSTOMER_ID, OrderStatus.PENDING, Collections.emptyList(), LocalDateTime.now());
+        when(orderService.createOrders(anyList())).thenReturn(List.of(OrderResult.success(created)));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/orders/bulk")
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"items\":[{\"productId\":\"PROD-1\",\"quantity\":1}]}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.order.id").value(created.id().toString()));
+    }
+
+    @Test
+    void createOrders_ChunkThrowsError_ReportsEveryOrderOfTheChunk() throws Exception {
+        when(orderService.createOrders(anyList())).thenThrow(new StackOverflowError());
+
+        String[] lines = streamBulk("""
+                {"items":[{"productId":"PROD-1","quantity":1}]}
+                {"items":[{"productId":"PROD-2","quantity":1}]}
+                """);
+
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.contains(ErrorCode.INTERNAL_ERROR.getCode()), line);
+        }
+    }
+
+    @Test
+    void createOrders_ChunkNeverFinishes_ReportsOutstandingOrdersAsBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(inv -> {
+            release.await();
+            return List.of();
+        });
+
+        try {
+            String[] lines = streamBulk("""
+                    {"items":[{"productId":"PROD-1","quantity":1}]}
+                    """);
+
+            assertEquals(1, lines.length);
+            assertTrue(lines[0].contains("\"index\":0") && lines[0].contains(ErrorCode.SERVICE_BUSY.getCode()), lines[0]);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void createOrders_MalformedAfterAChunkStarted_CreatesEarlierOrdersAndReportsTheError() throws Exception {
+        when(orderService.createOrders(anyList())).thenAnswer(inv -> inv.<List<CreateOrderCommand>>getArgument(0).stream()
+                .map(command -> OrderResult.success(new Order(UUID.randomUUID(), command.customerId(), OrderStatus.PENDING,
+                        Collections.emptyList(), LocalDateTime.now())))
+                .toList());
+
+        String[] lines = streamBulk("""
+                {"items":[{"productId":"PROD-1","quantity":1}]}
+                {"items":[{"productId":"PROD-2","quantity":1}]}
+                {"items":[{"productId":"PROD-3","quantity":1}]}
+                {"items": [
+                """);
+
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].contains("\"index\":3") && lines[0].contains(ErrorCode.INVALID_REQUEST.getCode()), lines[0]);
+        // the full first chunk and the partial one read before the error
+        verify(orderService).createOrders(argThat(commands -> commands.size() == 2));
+        verify(orderService).createOrders(argThat(commands -> commands.size() == 1));
+        verify(readRouting).markClient();
+    }
+
+    private String[] streamBulk(String ndjson) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/v1/orders/bulk")
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+    }
+
+    @Test
+    void createOrders_MalformedBody_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/orders/bulk")
+                        .header("X-User-Id", CUSTOMER_ID)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"items\": ["))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_REQUEST.getCode()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.peerislands.ecommerce.datasource;
+
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaAConnection = mock(Connection.class);
+    private final Connection replicaBConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replicaA = mock(DataSource.class);
+    private final DataSource replicaB = mock(DataSource.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+    private ReadRouting readRouting;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(replicaAConnection);
+        when(replicaB.getConnection()).thenReturn(replicaBConnection);
+        when(replicaAConnection.isValid(anyInt())).thenReturn(true);
+        when(replicaBConnection.isValid(anyInt())).thenReturn(true);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofHours(1), Duration.ofSeconds(1), meterRegistry);
+        readRouting = new ReadRouting(new ReplicaProperties(true, Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofSeconds(1), 10, List.of()),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        routing.close();
+    }
+
+    @Test
+    void outsideReadRouting_UsesPrimary() throws SQLException {
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void replicaReads_RoundRobinOverReplicas() {
+        List<Connection> connections = List.of(readConnection("c1"), readConnection("c1"), readConnection("c1"));
+
+        assertEquals(List.of(replicaAConnection, replicaBConnection, replicaAConnection), connections);
+    }
+
+    @Test
+    void stickyCustomer_ReadsFromPrimary() {
+        readRouting.onOrdersChanged(new OrdersChangedEvent(List.of(new OrderRef(UUID.randomUUID(), "writer"))));
+
+        assertSame(primaryConnection, readConnection("writer"));
+        assertNotSame(primaryConnection, readConnection("someone-else"));
+    }
+
+    @Test
+    void writeInRequest_SetsLastWriteCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        readRouting.onOrdersChanged(new OrdersChangedEvent(List.of(new OrderRef(UUID.randomUUID(), "writer"))));
+
+        Cookie cookie = response.getCookie(ReadRouting.LAST_WRITE_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(61, cookie.getMaxAge());
+        assertTrue(Long.parseLong(cookie.getValue()) <= System.currentTimeMillis());
+    }
+
+    @Test
+    void lastWriteCookie_ReadsFromPrimaryOnAnotherNode() {
+        // This ReadRouting never saw the write, as on a node behind the load balancer that did not serve it.
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadRouting.LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis() - 1_000)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+
+        assertSame(primaryConnection, readConnection("writer"));
+    }
+
+    @Test
+    void lastWriteCookie_OutsideStickyWindow_ReadsFromReplica() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadRouting.LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis() - 120_000)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+
+        assertNotSame(primaryConnection, readConnection("writer"));
+    }
+
+    @Test
+    void committedResponse_IsNotGivenACookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        readRouting.markClient();
+
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void failingReplica_IsSkippedUntilHealthCheckPasses() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertSame(replicaBConnection, readConnection("c1"));
+        assertFalse(routing.isHealthy("a"));
+        assertEquals(0.0, meterRegistry.get("db.replica.healthy").tag("replica", "a").gauge().value());
+        assertSame(replicaBConnection, readConnection("c1"));
+
+        doReturn(replicaAConnection).when(replicaA).getConnection();
+        routing.checkHealth();
+
+        assertTrue(routing.isHealthy("a"));
+    }
+
+    @Test
+    void noHealthyReplica_FallsBackToPrimary() throws SQLException {
+        when(replicaAConnection.isValid(anyInt())).thenReturn(false);
+        when(replicaB.getConnection()).thenThrow(new SQLException("timeout"));
+        routing.checkHealth();
+
+        assertSame(primaryConnection, readConnection("c1"));
+    }
+
+    private Connection readConnection(String customerId) {
+        return readRouting.read(customerId, () -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.peerislands.ecommerce.datasource;
+
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.service.OrderService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases with no replication between them,
+ * so where a row shows up tells which database served the read.
+ */
+@SpringBootTest(properties = {
+        "replicas.enabled=true",
+        "replicas.sticky-window=2s",
+        "replicas.datasources[0].name=replica-a",
+        "replicas.datasources[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "replicas.datasources[0].username=sa",
+        "replicas.datasources[0].password=",
+        "orders.cache.enabled=false"
+})
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1";
+    private static final UUID REPLICA_ONLY_ORDER = UUID.randomUUID();
+
+    @Autowired private OrderService orderService;
+    @Autowired private DataSource dataSource;
+    @Autowired private ReadRouting readRouting;
+
+    @BeforeAll
+    static void prepareReplica() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/h2").load().migrate();
+        new JdbcTemplate(replica).update("insert into orders (id, customer_id, status, created_at, version) "
+                + "values (?, 'replica-reader', 'SHIPPED', current_timestamp, 0)", REPLICA_ONLY_ORDER);
+    }
+
+    @Test
+    void readsGoToTheReplica() {
+        assertInstanceOf(ReplicaRoutingDataSource.class, dataSource);
+
+        Page<Order> orders = orderService.getAllOrders("replica-reader", null, 0, 10, false);
+
+        assertEquals(List.of(REPLICA_ONLY_ORDER), orders.map(Order::id).getContent());
+        assertEquals(REPLICA_ONLY_ORDER, orderService.getOrder(REPLICA_ONLY_ORDER, "replica-reader").id());
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromThePrimaryUntilTheWindowCloses() throws InterruptedException {
+        Order created = orderService.createOrder(new CreateOrderCommand("replica-writer",
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 1))));
+
+        assertTrue(readRouting.isSticky("replica-writer"));
+        assertEquals(List.of(created.id()), orderService.getAllOrders("replica-writer", null, 0, 10, false).map(Order::id).getContent());
+
+        Thread.sleep(2_100);
+
+        assertFalse(readRouting.isSticky("replica-writer"));
+        assertTrue(orderService.getAllOrders("replica-writer", null, 0, 10, false).isEmpty(),
+                "the replica never received the order, so a non-sticky read must not see it");
+    }
+}
@@ -0,0 +1,49 @@
+package com.peerislands.ecommerce.dto;
+
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderItem;
+import com.peerislands.ecommerce.model.OrderStatus;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderJsonSerializerTest {
+
+    private final JsonMapper plain = JsonMapper.builder().build();
+    private final JsonMapper direct = JsonMapper.builder()
+            .addModule(new SimpleModule().addSerializer(Order.class, new OrderJsonSerializer()))
+            .build();
+
+    static Stream<Order> orders() {
+        UUID id = UUID.fromString("3f2b8c1e-9a4d-4e6f-8b7a-1c2d3e4f5a6b");
+        return Stream.of(
+                new Order(id, "user-1", OrderStatus.PENDING,
+                        List.of(new OrderItem("PROD-1", 2, new BigDecimal("9.99")),
+                                new OrderItem("PROD-\"2\"", 1, BigDecimal.ONE)),
+                        LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_000)),
+                new Order(id, "user-2", OrderStatus.CANCELLED, List.of(), LocalDateTime.of(2024, 1, 1, 0, 0)),
+                new Order(id, "user-3", OrderStatus.SHIPPED, List.of(new OrderItem("PROD-1", null, null)), null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orders")
+    void writesSameJsonAsOrderResponse(Order order) {
+        assertEquals(plain.writeValueAsString(OrderResponse.from(order)), direct.writeValueAsString(order));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orders")
+    void writesSameJsonInsideContainers(Order order) {
+        assertEquals(plain.writeValueAsString(List.of(OrderResponse.from(order), OrderResponse.from(order))),
+                direct.writeValueAsString(List.of(order, order)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.peerislands.ecommerce.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_SetsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(UuidV7.timestampMillis(id) >= before);
+        // a burst may borrow a few milliseconds ahead, never more than the 12-bit sequence allows
+        assertTrue(UuidV7.timestampMillis(id) <= after + 1);
+    }
+
+    @Test
+    void next_SingleThread_IsStrictlyIncreasingInStringOrder() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidV7.next().toString());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "Out of order at " + i);
+        }
+    }
+
+    @Test
+    void next_ManyThreads_NeverRepeats() {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> seen.add(UuidV7.next()));
+
+        assertEquals(200_000, seen.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.peerislands.ecommerce.job;
+
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.OrderRepository;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.tracing.Tracer;
+import com.peerislands.ecommerce.tracing.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderArchiveJob archiveJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Tracer tracer = new Tracer(new TracingProperties(false, 1.0, TracingProperties.Exporter.MEMORY, 100, Path.of("spans.jsonl"), 100), List.of());
+        when(transactionTemplate.execute(ArgumentMatchers.<TransactionCallback<Object>>any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        archiveJob = new OrderArchiveJob(orderRepository, transactionTemplate,
+                new OrderArchiveProperties(true, Duration.ofDays(90), 2), eventPublisher, meterRegistry, tracer);
+    }
+
+    @Test
+    void archiveOrders_MovesTerminalOrdersBatchByBatch() {
+        OrderRef first = new OrderRef(UUID.randomUUID(), "c1");
+        OrderRef second = new OrderRef(UUID.randomUUID(), "c2");
+        OrderRef third = new OrderRef(UUID.randomUUID(), "c1");
+        when(orderRepository.claimRefsForArchive(eq(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED)), any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        archiveJob.archiveOrders();
+
+        List<UUID> firstBatch = List.of(first.id(), second.id());
+        InOrder inOrder = inOrder(orderRepository);
+        inOrder.verify(orderRepository).copyItemsToArchive(firstBatch);
+        inOrder.verify(orderRepository).copyToArchive(eq(firstBatch), any(LocalDateTime.class), any(LocalDateTime.class));
+        inOrder.verify(orderRepository).deleteItemsByOrderIds(firstBatch);
+        inOrder.verify(orderRepository).deleteByIdsCreatedBefore(eq(firstBatch), any(LocalDateTime.class));
+        verify(orderRepository).copyToArchive(eq(List.of(third.id())), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(List.of(first, second)));
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(List.of(third)));
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(3, meterRegistry.get("orders.archived").counter().count());
+    }
+
+    @Test
+    void archiveOrders_CutoffIsOlderThanThreshold() {
+        when(orderRepository.claimRefsForArchive(anyCollection(), any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+
+        archiveJob.archiveOrders();
+
+        verify(orderRepository).claimRefsForArchive(anyCollection(),
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(89))), any(Limit.class));
+        verify(orderRepository, never()).copyToArchive(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
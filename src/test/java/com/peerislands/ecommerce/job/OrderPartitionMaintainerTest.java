@@ -0,0 +1,76 @@
+package com.peerislands.ecommerce.job;
+
+import com.peerislands.ecommerce.job.OrderPartitionMaintainer.Partition;
+import com.peerislands.ecommerce.job.OrderPartitioningProperties.Granularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderPartitionMaintainerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Test
+    void parse_ReadsRangeBoundsAndSkipsDefault() {
+        Partition legacy = Partition.parse("orders_legacy", "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')");
+        Partition monthly = Partition.parse("orders_p20261101", "FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00')");
+
+        assertNull(legacy.from());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), legacy.to());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), monthly.from());
+        assertNull(Partition.parse("orders_default", "DEFAULT"));
+    }
+
+    @Test
+    void missing_NoPartitions_CreatesCurrentAndPremadeMonths() {
+        List<Partition> missing = OrderPartitionMaintainer.missing(List.of(), TODAY, Granularity.MONTH, 2);
+
+        assertEquals(List.of("orders_p20261001", "orders_p20261101", "orders_p20261201"),
+                missing.stream().map(Partition::name).toList());
+        assertEquals(LocalDateTime.of(2026, 10, 1, 0, 0), missing.getFirst().from());
+        assertEquals(LocalDateTime.of(2027, 1, 1, 0, 0), missing.getLast().to());
+    }
+
+    @Test
+    void missing_SkipsPeriodsCoveredByLegacyPartition() {
+        Partition legacy = new Partition("orders_legacy", null, LocalDateTime.of(2026, 11, 1, 0, 0));
+
+        List<Partition> missing = OrderPartitionMaintainer.missing(List.of(legacy), TODAY, Granularity.MONTH, 2);
+
+        assertEquals(List.of("orders_p20261101", "orders_p20261201"), missing.stream().map(Partition::name).toList());
+    }
+
+    @Test
+    void missing_ClipsPeriodThatStartsInsideExistingCoverage() {
+        Partition daily = new Partition("orders_p20261017", LocalDateTime.of(2026, 10, 17, 0, 0), LocalDateTime.of(2026, 10, 18, 0, 0));
+
+        List<Partition> missing = OrderPartitionMaintainer.missing(List.of(daily), TODAY, Granularity.MONTH, 0);
+
+        assertEquals(1, missing.size());
+        assertEquals(LocalDateTime.of(2026, 10, 18, 0, 0), missing.getFirst().from());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), missing.getFirst().to());
+    }
+
+    @Test
+    void missing_DailyGranularity_UpToDate_CreatesNothing() {
+        List<Partition> existing = List.of(
+                new Partition("orders_p20261017", LocalDateTime.of(2026, 10, 17, 0, 0), LocalDateTime.of(2026, 10, 18, 0, 0)),
+                new Partition("orders_p20261018", LocalDateTime.of(2026, 10, 18, 0, 0), LocalDateTime.of(2026, 10, 19, 0, 0)));
+
+        assertTrue(OrderPartitionMaintainer.missing(existing, TODAY, Granularity.DAY, 1).isEmpty());
+    }
+
+    @Test
+    void expired_OnlyPartitionsEndedBeforeThreshold() {
+        Partition old = new Partition("orders_p20260701", LocalDateTime.of(2026, 7, 1, 0, 0), LocalDateTime.of(2026, 8, 1, 0, 0));
+        Partition recent = new Partition("orders_p20260901", LocalDateTime.of(2026, 9, 1, 0, 0), LocalDateTime.of(2026, 10, 1, 0, 0));
+
+        List<Partition> expired = OrderPartitionMaintainer.expired(List.of(old, recent), LocalDateTime.of(2026, 9, 17, 0, 0));
+
+        assertEquals(List.of(old), expired);
+    }
+}
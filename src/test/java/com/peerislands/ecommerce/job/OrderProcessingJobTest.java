@@ -1,22 +1,37 @@
 package com.peerislands.ecommerce.job;
 
-import com.peerislands.ecommerce.entity.OrderEntity;
+import com.peerislands.ecommerce.job.OrderProcessingProperties.ClaimMode;
 import com.peerislands.ecommerce.model.OrderStatus;
 import com.peerislands.ecommerce.repository.OrderRepository;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.tracing.InMemorySpanCollector;
+import com.peerislands.ecommerce.tracing.SpanRecord;
+import com.peerislands.ecommerce.tracing.Tracer;
+import com.peerislands.ecommerce.tracing.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,50 +40,102 @@ class OrderProcessingJobTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemorySpanCollector spans;
+    private Tracer tracer;
     private OrderProcessingJob orderProcessingJob;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TracingProperties tracing = new TracingProperties(true, 1.0, TracingProperties.Exporter.MEMORY, 100, Path.of("spans.jsonl"), 100);
+        spans = new InMemorySpanCollector(tracing);
+        tracer = new Tracer(tracing, List.of(spans));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        orderProcessingJob = new OrderProcessingJob(orderRepository, transactionTemplate, new OrderProcessingProperties(2, 1, ClaimMode.OPTIMISTIC), eventPublisher, meterRegistry, tracer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProcessingJob.shutdown();
+    }
+
+    @Test
+    void processOrders_FoundPendingOrders_TransitionsThemChunkByChunk() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        List<OrderRef> firstChunk = refs(first, second);
+        List<OrderRef> secondChunk = refs(third);
+
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(eq(OrderStatus.PENDING), any(LocalDateTime.class), any(UUID.class), eq(Limit.of(2))))
+                .thenReturn(firstChunk)
+                .thenReturn(secondChunk);
+
+        orderProcessingJob.processOrders();
+
+        verify(orderRepository).transitionStatus(eq(List.of(first, second)), any(LocalDateTime.class), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING));
+        verify(orderRepository).transitionStatus(eq(List.of(third)), any(LocalDateTime.class), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING));
+        verify(orderRepository).findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), eq(second), any());
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(firstChunk));
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(secondChunk));
+    }
+
     @Test
-    void processOrders_FoundPendingOrders_UpdatesStatusToProcessing() {
-        OrderEntity order1 = OrderEntity.builder()
-                .id(UUID.randomUUID())
-                .status(OrderStatus.PENDING)
-                .build();
+    void processOrders_RecordsRunDurationAndRows() {
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any()))
+                .thenReturn(refs(UUID.randomUUID()));
+        when(orderRepository.transitionStatus(any(), any(), any(), any())).thenReturn(1);
 
-        OrderEntity order2 = OrderEntity.builder()
-                .id(UUID.randomUUID())
-                .status(OrderStatus.PENDING)
-                .build();
+        orderProcessingJob.processOrders();
 
-        when(orderRepository.findByStatusAndCreatedAtBefore(eq(OrderStatus.PENDING), any(LocalDateTime.class)))
-                .thenReturn(List.of(order1, order2));
+        assertEquals(1, meterRegistry.get("orders.processing.run").tag("mode", "optimistic").timer().count());
+        assertEquals(1.0, meterRegistry.get("orders.processing.run.rows").summary().totalAmount());
+    }
+
+    @Test
+    void processOrders_WorkerChunks_AreSpansOfTheJobTrace() {
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any()))
+                .thenReturn(refs(UUID.randomUUID()));
 
         orderProcessingJob.processOrders();
 
-        assertEquals(OrderStatus.PROCESSING, order1.getStatus(), "Order 1 status should be updated");
-        assertEquals(OrderStatus.PROCESSING, order2.getStatus(), "Order 2 status should be updated");
+        SpanRecord root = spans.spans().stream().filter(span -> span.name().equals("job.process-orders")).findFirst().orElseThrow();
+        SpanRecord chunk = spans.spans().stream().filter(span -> span.name().equals("job.chunk")).findFirst().orElseThrow();
+        assertEquals(root.traceId(), chunk.traceId());
+        assertEquals(root.spanId(), chunk.parentSpanId());
+        assertTrue(chunk.thread().startsWith("order-processing-"));
     }
 
     @Test
     void processOrders_NoOrdersFound_DoesNothing() {
-        when(orderRepository.findByStatusAndCreatedAtBefore(any(), any()))
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         orderProcessingJob.processOrders();
 
-        verify(orderRepository).findByStatusAndCreatedAtBefore(eq(OrderStatus.PENDING), any(LocalDateTime.class));
+        verify(orderRepository).findRefsByStatusAndCreatedAtBeforeAndIdAfter(eq(OrderStatus.PENDING), any(LocalDateTime.class), eq(new UUID(0L, 0L)), any(Limit.class));
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void processOrders_VerifiesTimeCutoffLogic() {
 
-        when(orderRepository.findByStatusAndCreatedAtBefore(any(), any()))
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         orderProcessingJob.processOrders();
 
         ArgumentCaptor<LocalDateTime> timeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        verify(orderRepository).findByStatusAndCreatedAtBefore(eq(OrderStatus.PENDING), timeCaptor.capture());
+        verify(orderRepository).findRefsByStatusAndCreatedAtBeforeAndIdAfter(eq(OrderStatus.PENDING), timeCaptor.capture(), any(), any(Limit.class));
 
         LocalDateTime capturedTime = timeCaptor.getValue();
         LocalDateTime now = LocalDateTime.now();
@@ -76,4 +143,62 @@ class OrderProcessingJobTest {
         assertTrue(capturedTime.isBefore(now.minusMinutes(4).minusSeconds(59)));
         assertTrue(capturedTime.isAfter(now.minusMinutes(5).minusSeconds(5)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void processOrders_SkipLockedMode_EachWorkerClaimsUntilBacklogIsEmpty() {
+        orderProcessingJob.shutdown();
+        orderProcessingJob = new OrderProcessingJob(orderRepository, transactionTemplate,
+                new OrderProcessingProperties(2, 3, ClaimMode.SKIP_LOCKED), eventPublisher, meterRegistry, tracer);
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<OrderRef> fullChunk = refs(first, second);
+        when(orderRepository.claimRefsForUpdateSkipLocked(eq(OrderStatus.PENDING), any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(fullChunk)
+                .thenReturn(Collections.emptyList());
+        when(orderRepository.transitionStatus(eq(List.of(first, second)), any(), any(), any())).thenReturn(2);
+
+        orderProcessingJob.processOrders();
+
+        // one full chunk, then each of the three workers sees an empty claim and stops
+        verify(orderRepository, times(4)).claimRefsForUpdateSkipLocked(eq(OrderStatus.PENDING), any(LocalDateTime.class), eq(Limit.of(2)));
+        verify(orderRepository).transitionStatus(eq(List.of(first, second)), any(LocalDateTime.class), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING));
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(fullChunk));
+        verify(orderRepository, never()).findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any());
+    }
+
+    private static List<OrderRef> refs(UUID... ids) {
+        return Arrays.stream(ids).map(id -> new OrderRef(id, "user-1")).toList();
+    }
+
+    @Test
+    void processOrders_SkipLockedMode_StopsWhenClaimedRowsAreNotUpdated() {
+        orderProcessingJob.shutdown();
+        orderProcessingJob = new OrderProcessingJob(orderRepository, transactionTemplate,
+                new OrderProcessingProperties(2, 1, ClaimMode.SKIP_LOCKED), eventPublisher, meterRegistry, tracer);
+
+        List<OrderRef> fullChunk = refs(UUID.randomUUID(), UUID.randomUUID());
+        when(orderRepository.claimRefsForUpdateSkipLocked(any(), any(), any())).thenReturn(fullChunk);
+        when(orderRepository.transitionStatus(any(), any(), any(), any())).thenReturn(1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> orderProcessingJob.processOrders());
+
+        verify(orderRepository).claimRefsForUpdateSkipLocked(any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("orders.processing.run.rows").summary().totalAmount());
+    }
+
+    @Test
+    void processOrders_TransitionIsBoundedByTheClaimCutoff() {
+        UUID id = UUID.randomUUID();
+        when(orderRepository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), any(), any(), any()))
+                .thenReturn(refs(id));
+
+        orderProcessingJob.processOrders();
+
+        ArgumentCaptor<LocalDateTime> claimCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> updateCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderRepository).findRefsByStatusAndCreatedAtBeforeAndIdAfter(any(), claimCutoff.capture(), any(), any());
+        verify(orderRepository).transitionStatus(eq(List.of(id)), updateCutoff.capture(), any(), any());
+        assertEquals(claimCutoff.getValue(), updateCutoff.getValue());
+    }
+}
@@ -0,0 +1,46 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatedAtRangeTest {
+
+    @Test
+    void of_V7Id_CoversTheMomentItWasIssued() {
+        LocalDateTime before = LocalDateTime.now();
+        UUID id = UuidV7.next();
+        LocalDateTime after = LocalDateTime.now();
+
+        CreatedAtRange range = CreatedAtRange.of(id);
+
+        assertFalse(range.from().isAfter(before.minus(CreatedAtRange.SLACK).plusSeconds(1)));
+        assertFalse(range.to().isBefore(after.plus(CreatedAtRange.SLACK).minusSeconds(1)));
+        assertTrue(range.from().isAfter(before.minusDays(3)));
+        assertTrue(range.to().isBefore(after.plusDays(3)));
+    }
+
+    @Test
+    void of_RandomId_IsUnbounded() {
+        assertEquals(CreatedAtRange.ANY, CreatedAtRange.of(UUID.randomUUID()));
+    }
+
+    @Test
+    void of_Ids_SpansOldestToNewest() {
+        UUID oldest = UuidV7.next();
+        UUID newest = UuidV7.next();
+
+        assertEquals(new CreatedAtRange(CreatedAtRange.of(oldest).from(), CreatedAtRange.of(newest).to()),
+                CreatedAtRange.of(List.of(newest, oldest)));
+    }
+
+    @Test
+    void of_IdsWithOneRandomId_IsUnbounded() {
+        assertEquals(CreatedAtRange.ANY, CreatedAtRange.of(List.of(UuidV7.next(), UUID.randomUUID())));
+    }
+}
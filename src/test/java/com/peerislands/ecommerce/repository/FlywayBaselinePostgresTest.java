@@ -0,0 +1,68 @@
+package com.peerislands.ecommerce.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the {@code postgres} profile on a schema left by {@code ddl-auto: update} from before the
+ * catalog table existed. Flyway must adopt it below V1 and bring it to a schema that Hibernate's
+ * {@code validate} accepts; the context would not start otherwise. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresContainerConfiguration.class, FlywayBaselinePostgresTest.LegacySchema.class})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayBaselinePostgresTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ddlAutoSchema_IsBaselinedAtZeroAndMigrated() {
+        List<String> history = jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class);
+
+        assertEquals(List.of("0", "1", "2", "3", "4"), history);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from products", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class LegacySchema {
+
+        /** Lays down the tables as ddl-auto created them, with one order, just before Flyway runs. */
+        @Bean
+        FlywayMigrationStrategy legacySchemaFirst() {
+            return flyway -> {
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.execute("drop schema public cascade");
+                jdbc.execute("create schema public");
+                jdbc.execute("""
+                        create table orders (
+                            id uuid not null, customer_id varchar(255) not null,
+                            status varchar(255) not null check (status in ('PENDING','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+                            created_at timestamp(6), version integer, primary key (id))""");
+                jdbc.execute("""
+                        create table order_items (
+                            id uuid not null, order_id uuid not null, product_id varchar(255) not null,
+                            quantity integer not null, price numeric(38,2) not null, primary key (id),
+                            constraint fk6pldz1oy8j7gjm4ykjbl2ma9e foreign key (order_id) references orders)""");
+                jdbc.update("insert into orders values (gen_random_uuid(), 'legacy', 'PENDING', localtimestamp, 0)");
+                flyway.migrate();
+            };
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.peerislands.ecommerce.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OrderRepositoryQueryPlanTest} against PostgreSQL and its own migrations: the partitioned
+ * {@code orders} table and the partial {@code WHERE status = 'PENDING'} and {@code INCLUDE} indexes
+ * that H2 cannot express. Every statement Hibernate sends is explained again with the same bind
+ * values, so the planner sees the literals that let it match a partial index. Sequential scans are
+ * switched off first: on a few hundred rows they always win, and the question is whether an index
+ * can serve the query at all. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresContainerConfiguration.class, OrderRepositoryPostgresQueryPlanTest.RecordingConfiguration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class OrderRepositoryPostgresQueryPlanTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    /** Queries whose plan must use one of these indexes, named as declared on the parent table. */
+    private static final Map<String, Set<String>> EXPECTED_INDEXES = Map.of(
+            "findRefsByStatusAndCreatedAtBeforeAndIdAfter", Set.of("idx_orders_pending_id", "idx_orders_pending_created"),
+            "claimRefsForUpdateSkipLocked", Set.of("idx_orders_pending_created"),
+            "claimRefsForArchive", Set.of("idx_orders_terminal_created"),
+            "countByCustomerIdAndStatus", Set.of("idx_orders_customer_status_created"),
+            "findItemViewsByOrderIds", Set.of("idx_order_items_order"));
+
+    /** Queries that must be answered from an index's {@code INCLUDE} columns alone, by an Index Only Scan. */
+    private static final Map<String, Set<String>> COVERING_INDEXES = Map.of(
+            "findRefsByStatusAndCreatedAtBeforeAndIdAfter", Set.of("idx_orders_pending_id", "idx_orders_pending_created"),
+            "findSummariesByCustomerId", Set.of("idx_orders_customer_created"),
+            "findItemViewsByOrderIds", Set.of("idx_order_items_order"));
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private List<UUID> orderIds;
+    /** Index accesses in the plans of the last checked query, by the index declared on the parent table. */
+    private final List<IndexScan> indexScans = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        orderIds = OrderRepositoryQueryCases.seed(orderRepository);
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("analyze");
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        RecordingDataSource.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.peerislands.ecommerce.repository.OrderRepositoryQueryCases#queries")
+    void queryUsesAnIndex(String method, BiConsumer<OrderRepository, List<UUID>> query) {
+        query.accept(orderRepository, orderIds);
+        assertPlansUseIndexes(method);
+        assertUses(method, EXPECTED_INDEXES, nodeType -> true);
+        assertUses(method, COVERING_INDEXES, "Index Only Scan"::equals);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.peerislands.ecommerce.repository.OrderRepositoryQueryCases#historyQueries")
+    void historyQueryUsesAnIndex(String method, BiConsumer<OrderHistoryRepository, List<UUID>> query) {
+        query.accept(orderHistoryRepository, orderIds);
+        assertPlansUseIndexes(method);
+    }
+
+    private void assertPlansUseIndexes(String method) {
+        indexScans.clear();
+        List<Execution> executions = RecordingDataSource.drain();
+        assertFalse(executions.isEmpty(), method + " issued no SQL");
+        Map<String, String> leadingColumns = leadingIndexColumns();
+        Map<String, String> parentIndexes = parentIndexes();
+        Set<String> emptyPartitions = emptyPartitions();
+        for (Execution execution : executions) {
+            JsonNode plan = explain(execution);
+            List<JsonNode> reads = new ArrayList<>();
+            collectReads(plan, reads);
+            for (JsonNode scan : reads) {
+                if (emptyPartitions.contains(scan.path("Relation Name").asString(""))
+                        || emptyPartitions.contains(scan.path("Index Name").asString(""))) {
+                    continue;
+                }
+                String description = method + " plan:\n" + plan.toPrettyString();
+                assertNotEquals("Seq Scan", scan.get("Node Type").asString(), description);
+                if (scan.has("Index Name")) {
+                    String index = scan.get("Index Name").asString();
+                    String leading = leadingColumns.get(index);
+                    assertNotNull(leading, "unknown index " + index + " in " + description);
+                    assertTrue(Pattern.compile("\\b" + leading + "\\b").matcher(scan.path("Index Cond").asString("")).find(),
+                            index + " is walked without a condition on " + leading + " in " + description);
+                    indexScans.add(new IndexScan(scan.get("Node Type").asString(), parentIndexes.getOrDefault(index, index)));
+                }
+            }
+            assertFalse(reads.isEmpty(), method + " reads no table:\n" + plan.toPrettyString());
+        }
+    }
+
+    private void assertUses(String method, Map<String, Set<String>> expectations, Predicate<String> nodeType) {
+        Set<String> expected = expectations.get(method);
+        if (expected != null) {
+            assertTrue(indexScans.stream().anyMatch(scan -> expected.contains(scan.index()) && nodeType.test(scan.nodeType())),
+                    method + " should use one of " + expected + " but used " + indexScans);
+        }
+    }
+
+    /** Every node that reads a relation or an index; the {@code ModifyTable} of a write is not a read. */
+    private static void collectReads(JsonNode node, List<JsonNode> reads) {
+        if ((node.has("Relation Name") || node.has("Index Name")) && !"ModifyTable".equals(node.get("Node Type").asString())) {
+            reads.add(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectReads(child, reads);
+        }
+    }
+
+    private JsonNode explain(Execution execution) {
+        return jdbcTemplate.execute((ConnectionCallback<JsonNode>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain (format json) " + execution.sql())) {
+                for (Bind bind : execution.binds()) {
+                    try {
+                        bind.applyTo(explain);
+                    } catch (Throwable e) {
+                        throw new IllegalStateException("Cannot rebind " + bind.setter().getName(), e);
+                    }
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return JSON.readTree(plan.getString(1)).get(0).get("Plan");
+                }
+            }
+        });
+    }
+
+    private Map<String, String> leadingIndexColumns() {
+        return jdbcTemplate.query("select c.relname, a.attname from pg_index x "
+                        + "join pg_class c on c.oid = x.indexrelid "
+                        + "join pg_attribute a on a.attrelid = x.indrelid and a.attnum = x.indkey[0] "
+                        + "where c.relnamespace = 'public'::regnamespace",
+                        (rs, row) -> Map.entry(rs.getString(1), rs.getString(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * Partitions the seed left empty, such as {@code orders_default}, and their indexes. With sequential
+     * scans off the planner walks whichever index of an empty partition is smallest, which says nothing.
+     */
+    private Set<String> emptyPartitions() {
+        return Set.copyOf(jdbcTemplate.queryForList("select t.relname from pg_class t "
+                + "where t.relispartition and t.relkind = 'r' and t.reltuples = 0 "
+                + "union all select i.relname from pg_index x join pg_class t on t.oid = x.indrelid "
+                + "join pg_class i on i.oid = x.indexrelid where t.relispartition and t.reltuples = 0", String.class));
+    }
+
+    /** Partition indexes (e.g. {@code orders_legacy_pending_created_idx}) to the index declared on {@code orders}. */
+    private Map<String, String> parentIndexes() {
+        return jdbcTemplate.query("select c.relname, p.relname from pg_inherits h "
+                        + "join pg_class c on c.oid = h.inhrelid join pg_class p on p.oid = h.inhparent "
+                        + "where c.relkind = 'i' and c.relnamespace = 'public'::regnamespace",
+                        (rs, row) -> Map.entry(rs.getString(1), rs.getString(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    record Bind(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws Throwable {
+            RecordingDataSource.invoke(statement, setter, args);
+        }
+    }
+
+    record Execution(String sql, List<Bind> binds) {
+    }
+
+    record IndexScan(String nodeType, String index) {
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /** Records each executed statement on the order tables together with the setter calls that bound it. */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private static final Pattern ORDER_STATEMENT =
+                Pattern.compile("(?is)\\s*(select|insert|update|delete)\\b.*\\border(s|_items|_history|_item_history)\\b.*");
+        private static final List<Execution> EXECUTIONS = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        static void clear() {
+            EXECUTIONS.clear();
+        }
+
+        static List<Execution> drain() {
+            synchronized (EXECUTIONS) {
+                List<Execution> drained = List.copyOf(EXECUTIONS);
+                EXECUTIONS.clear();
+                return drained;
+            }
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return method.getName().equals("prepareStatement")
+                        ? recording((PreparedStatement) result, (String) args[0])
+                        : result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Bind> binds = new ArrayList<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    binds.add(new Bind(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                } else if (name.startsWith("execute") && !name.equals("executeBatch") && args == null
+                        && ORDER_STATEMENT.matcher(sql).matches()) {
+                    EXECUTIONS.add(new Execution(sql, List.copyOf(binds)));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
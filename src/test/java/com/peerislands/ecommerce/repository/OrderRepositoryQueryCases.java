@@ -0,0 +1,116 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.OrderEntity;
+import com.peerislands.ecommerce.entity.OrderItemEntity;
+import com.peerislands.ecommerce.model.OrderStatus;
+import org.junit.jupiter.params.provider.Arguments;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Seed data and one call per query method of {@link OrderRepository} and {@link OrderHistoryRepository},
+ * shared by the H2 and PostgreSQL plan tests. Each case is named after the query method it covers and
+ * gets the ids of a few seeded orders.
+ */
+final class OrderRepositoryQueryCases {
+
+    static final String CUSTOMER_ID = "customer-7";
+    static final LocalDateTime CUTOFF = LocalDateTime.now().plusMinutes(1);
+
+    private OrderRepositoryQueryCases() {
+    }
+
+    /** Saves 200 orders spread over 20 customers and every status, and returns the ids of the first five. */
+    static List<UUID> seed(OrderRepository orderRepository) {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            OrderEntity order = OrderEntity.builder()
+                    .customerId("customer-" + (i % 20))
+                    .status(OrderStatus.values()[i % OrderStatus.values().length])
+                    .build();
+            order.addItem(OrderItemEntity.builder().productId("PROD-" + (i % 3)).quantity(1).price(BigDecimal.TEN).build());
+            orders.add(order);
+        }
+        return orderRepository.saveAll(orders).stream().map(OrderEntity::getId).limit(5).toList();
+    }
+
+    static Stream<Arguments> queries() {
+        Map<String, BiConsumer<OrderRepository, List<UUID>>> queries = Map.ofEntries(
+                Map.entry("findRefsByStatusAndCreatedAtBeforeAndIdAfter", (repository, orderIds) ->
+                        repository.findRefsByStatusAndCreatedAtBeforeAndIdAfter(OrderStatus.PENDING, CUTOFF, new UUID(0L, 0L), Limit.of(50))),
+                Map.entry("claimRefsForUpdateSkipLocked", (repository, orderIds) ->
+                        repository.claimRefsForUpdateSkipLocked(OrderStatus.PENDING, CUTOFF, Limit.of(50))),
+                Map.entry("transitionStatusCreatedBetween", (repository, orderIds) ->
+                        repository.transitionStatus(orderIds, LocalDateTime.now(), OrderStatus.PENDING, OrderStatus.PROCESSING)),
+                Map.entry("claimRefsForArchive", (repository, orderIds) ->
+                        repository.claimRefsForArchive(List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED), CUTOFF, Limit.of(50))),
+                Map.entry("copyItemsToArchive", (repository, orderIds) ->
+                        repository.copyItemsToArchive(orderIds)),
+                Map.entry("copyToArchive", (repository, orderIds) ->
+                        repository.copyToArchive(orderIds, CUTOFF, LocalDateTime.now())),
+                Map.entry("deleteItemsByOrderIds", (repository, orderIds) ->
+                        repository.deleteItemsByOrderIds(orderIds)),
+                Map.entry("deleteByIdsCreatedBefore", (repository, orderIds) -> {
+                    repository.deleteItemsByOrderIds(orderIds);
+                    repository.deleteByIdsCreatedBefore(orderIds, CUTOFF);
+                }),
+                Map.entry("findWithItemsByIdAndCreatedAtBetween", (repository, orderIds) ->
+                        repository.findWithItemsById(orderIds.getFirst())),
+                Map.entry("findVersionByIdAndCreatedAtBetween", (repository, orderIds) ->
+                        repository.findVersionById(orderIds.getFirst())),
+                Map.entry("findStampByCustomerId", (repository, orderIds) ->
+                        repository.findStampByCustomerId(CUSTOMER_ID)),
+                Map.entry("findSummariesByCustomerId", (repository, orderIds) ->
+                        repository.findSummariesByCustomerId(CUSTOMER_ID, PageRequest.of(1, 2, keysetSort()))),
+                Map.entry("findSummariesByCustomerIdAndStatus", (repository, orderIds) ->
+                        repository.findSummariesByCustomerIdAndStatus(CUSTOMER_ID, OrderStatus.PENDING, PageRequest.of(1, 1, keysetSort()))),
+                Map.entry("findItemViewsByOrderIds", (repository, orderIds) ->
+                        repository.findItemViewsByOrderIds(orderIds)),
+                Map.entry("findByCustomerId", (repository, orderIds) ->
+                        repository.findByCustomerId(CUSTOMER_ID, keysetAfterNow(), keysetSort(), Limit.of(5))),
+                Map.entry("findByCustomerIdAndStatus", (repository, orderIds) ->
+                        repository.findByCustomerIdAndStatus(CUSTOMER_ID, OrderStatus.PENDING, keysetAfterNow(), keysetSort(), Limit.of(5))),
+                Map.entry("countByCustomerId", (repository, orderIds) ->
+                        repository.countByCustomerId(CUSTOMER_ID)),
+                Map.entry("countByCustomerIdAndStatus", (repository, orderIds) ->
+                        repository.countByCustomerIdAndStatus(CUSTOMER_ID, OrderStatus.PENDING)));
+        return sorted(queries);
+    }
+
+    /** Reads span {@code orders} and {@code orders_archive}; both branches of the view must seek. */
+    static Stream<Arguments> historyQueries() {
+        Map<String, BiConsumer<OrderHistoryRepository, List<UUID>>> queries = Map.ofEntries(
+                Map.entry("findSummariesByCustomerId", (repository, orderIds) ->
+                        repository.findSummariesByCustomerId(CUSTOMER_ID, PageRequest.of(1, 2, keysetSort()))),
+                Map.entry("findSummariesByCustomerIdAndStatus", (repository, orderIds) ->
+                        repository.findSummariesByCustomerIdAndStatus(CUSTOMER_ID, OrderStatus.DELIVERED, PageRequest.of(1, 1, keysetSort()))),
+                Map.entry("findItemViewsByOrderIds", (repository, orderIds) ->
+                        repository.findItemViewsByOrderIds(orderIds)));
+        return sorted(queries);
+    }
+
+    private static <T> Stream<Arguments> sorted(Map<String, T> queries) {
+        return queries.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> Arguments.of(entry.getKey(), entry.getValue()));
+    }
+
+    private static ScrollPosition keysetAfterNow() {
+        return ScrollPosition.forward(Map.of("createdAt", LocalDateTime.now(), "id", UUID.randomUUID()));
+    }
+
+    private static Sort keysetSort() {
+        return Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.peerislands.ecommerce.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every query method declared on {@link OrderRepository} and {@link OrderHistoryRepository} against
+ * the migrated H2 schema, captures the SQL Hibernate sends and fails if its plan scans a table instead of
+ * seeking an index on its leading column. A new repository method must be added to
+ * {@link OrderRepositoryQueryCases} to pass.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.peerislands.ecommerce.repository.OrderRepositoryQueryPlanTest$CapturedSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderRepositoryQueryPlanTest {
+
+    private static final Pattern PLAN_ACCESS = Pattern.compile("/\\*\\s*PUBLIC\\.(\\S+?)(?::\\s*(.*?))?\\s*\\*/", Pattern.DOTALL);
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private List<UUID> orderIds;
+
+    @BeforeEach
+    void seed() {
+        orderIds = OrderRepositoryQueryCases.seed(orderRepository);
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("ANALYZE");
+        CapturedSql.clear();
+    }
+
+    @Test
+    void everyDeclaredQueryMethodHasAPlanCheck() {
+        assertEquals(declaredMethods(OrderRepository.class), coveredMethods(OrderRepositoryQueryCases.queries()),
+                "Add new OrderRepository methods to OrderRepositoryQueryCases.queries()");
+        assertEquals(declaredMethods(OrderHistoryRepository.class), coveredMethods(OrderRepositoryQueryCases.historyQueries()),
+                "Add new OrderHistoryRepository methods to OrderRepositoryQueryCases.historyQueries()");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.peerislands.ecommerce.repository.OrderRepositoryQueryCases#queries")
+    void queryUsesAnIndex(String method, BiConsumer<OrderRepository, List<UUID>> query) {
+        query.accept(orderRepository, orderIds);
+        assertPlansUseIndexes(method);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.peerislands.ecommerce.repository.OrderRepositoryQueryCases#historyQueries")
+    void historyQueryUsesAnIndex(String method, BiConsumer<OrderHistoryRepository, List<UUID>> query) {
+        query.accept(orderHistoryRepository, orderIds);
+        assertPlansUseIndexes(method);
+    }
+
+    private void assertPlansUseIndexes(String method) {
+        List<String> statements = CapturedSql.drain();
+        assertFalse(statements.isEmpty(), method + " issued no SQL");
+        Map<String, String> leadingColumns = leadingIndexColumns();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            Matcher access = PLAN_ACCESS.matcher(plan);
+            int tables = 0;
+            while (access.find()) {
+                tables++;
+                String index = access.group(1);
+                String conditions = access.group(2) == null ? "" : access.group(2);
+                assertFalse(index.endsWith(".tableScan"), method + " scans a table:\n" + plan);
+                String leading = leadingColumns.get(index);
+                assertNotNull(leading, method + " uses unknown index " + index + ":\n" + plan);
+                assertTrue(Pattern.compile("\\b" + leading + "\\b").matcher(conditions).find(),
+                        method + " walks " + index + " without a condition on " + leading + ":\n" + plan);
+            }
+            assertTrue(tables > 0, method + " has no table access in plan:\n" + plan);
+        }
+    }
+
+    private static Set<String> declaredMethods(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> coveredMethods(Stream<Arguments> queries) {
+        return queries.map(arguments -> (String) arguments.get()[0]).collect(Collectors.toSet());
+    }
+
+    private Map<String, String> leadingIndexColumns() {
+        return jdbcTemplate.query("select index_name, column_name from information_schema.index_columns "
+                        + "where table_schema = 'PUBLIC' and ordinal_position = 1",
+                        (rs, row) -> Map.entry(rs.getString(1), rs.getString(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /** Hibernate statement inspector that records every statement touching the order tables. */
+    public static class CapturedSql implements StatementInspector {
+
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.strip().toLowerCase();
+            if (normalized.matches("(?s)(select|insert|update|delete)\\b.*")
+                    && normalized.matches("(?s).*\\border(s|_items|_history|_item_history)\\b.*")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> drain() {
+            synchronized (STATEMENTS) {
+                List<String> drained = List.copyOf(STATEMENTS);
+                STATEMENTS.clear();
+                return drained;
+            }
+        }
+    }
+}
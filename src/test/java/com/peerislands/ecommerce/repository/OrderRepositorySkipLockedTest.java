@@ -0,0 +1,97 @@
+package com.peerislands.ecommerce.repository;
+
+import com.peerislands.ecommerce.entity.OrderEntity;
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OrderRepository#claimRefsForUpdateSkipLocked} on PostgreSQL, where two nodes claim at the same
+ * time. Each claim runs and commits in its own transaction, so the test itself is not transactional.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import(PostgresContainerConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositorySkipLockedTest {
+
+    private static final int CHUNK = 5;
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        orderRepository.saveAll(IntStream.range(0, CHUNK * 3)
+                .mapToObj(i -> OrderEntity.builder().customerId("customer-" + i).status(OrderStatus.PENDING).build())
+                .toList());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentClaims_SkipRowsLockedByTheOther() {
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        transaction.executeWithoutResult(status -> {
+            List<OrderRef> first = claim(cutoff);
+            // The first transaction still holds its row locks while the second one claims; waiting on
+            // them instead of skipping would time out here.
+            List<OrderRef> second = CompletableFuture.supplyAsync(() -> transaction.execute(inner -> claim(cutoff)))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+
+            assertEquals(CHUNK, first.size());
+            assertEquals(CHUNK, second.size());
+            Set<OrderRef> overlap = new HashSet<>(first);
+            overlap.retainAll(second);
+            assertTrue(overlap.isEmpty(), "Both transactions claimed " + overlap);
+        });
+    }
+
+    @Test
+    void claim_AfterTheOtherCommits_SeesTheRowsAgain() {
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        List<OrderRef> first = transaction.execute(status -> claim(cutoff));
+        List<OrderRef> second = transaction.execute(status -> claim(cutoff));
+
+        assertEquals(first, second, "Locks end with the transaction; the status change is what removes a row");
+    }
+
+    private List<OrderRef> claim(LocalDateTime cutoff) {
+        return orderRepository.claimRefsForUpdateSkipLocked(OrderStatus.PENDING, cutoff, Limit.of(CHUNK));
+    }
+}
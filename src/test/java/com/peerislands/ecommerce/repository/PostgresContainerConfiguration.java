@@ -0,0 +1,21 @@
+package com.peerislands.ecommerce.repository;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * A throwaway PostgreSQL for repository tests that need the real {@code db/migration/postgresql} schema.
+ * Tests importing it are annotated {@code @Testcontainers(disabledWithoutDocker = true)} so the build
+ * still passes where Docker is not available.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class PostgresContainerConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer postgres() {
+        return new PostgreSQLContainer("postgres:17-alpine");
+    }
+}
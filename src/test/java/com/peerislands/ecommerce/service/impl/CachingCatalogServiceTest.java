@@ -0,0 +1,76 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCatalogServiceTest {
+
+    private static final Product MOUSE = new Product("PROD-1", "Wireless Mouse", new BigDecimal("25.00"));
+    private static final Product KEYBOARD = new Product("PROD-2", "Mechanical Keyboard", new BigDecimal("150.00"));
+
+    @Mock
+    private JpaCatalogServiceImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogService = new CachingCatalogService(delegate,
+                new CatalogCacheProperties(100, Duration.ofMinutes(1), Duration.ofMinutes(10)), meterRegistry);
+    }
+
+    @Test
+    void getProducts_OnlyMissesGoToTheDatabase_InOneQuery() {
+        when(delegate.findProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", MOUSE));
+        when(delegate.findProducts(Set.of("PROD-2"))).thenReturn(Map.of("PROD-2", KEYBOARD));
+
+        catalogService.getProduct("PROD-1");
+        Map<String, Product> basket = catalogService.getProducts(List.of("PROD-1", "PROD-2"));
+
+        assertEquals(MOUSE, basket.get("PROD-1"));
+        assertEquals(KEYBOARD, basket.get("PROD-2"));
+        verify(delegate, times(2)).findProducts(any());
+    }
+
+    @Test
+    void getProducts_SecondBasket_ServedFromCache() {
+        when(delegate.findProducts(Set.of("PROD-1", "PROD-2"))).thenReturn(Map.of("PROD-1", MOUSE, "PROD-2", KEYBOARD));
+
+        catalogService.getProducts(List.of("PROD-1", "PROD-2"));
+        catalogService.getProducts(List.of("PROD-2", "PROD-1"));
+
+        verify(delegate, times(1)).findProducts(any());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getProducts_UnknownId_ThrowsNotFound() {
+        when(delegate.findProducts(Set.of("PROD-1", "NOPE"))).thenReturn(Map.of("PROD-1", MOUSE));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> catalogService.getProducts(List.of("PROD-1", "NOPE")));
+
+        assertEquals(ErrorCode.PRODUCT_NOT_FOUND, ex.getErrorCode());
+        assertTrue(ex.getMessage().contains("NOPE"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_ThenFind_RoundTripsEveryProduct() {
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshot.write(List.of(
+                new Product("PROD-2", "Mechanical Keyboard", new BigDecimal("150.00")),
+                new Product("PROD-1", "Wireless Mouse", new BigDecimal("25")),
+                new Product("PRÖD-3", "iPhone 15", new BigDecimal("999.99"))), file);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(3, snapshot.size());
+        assertEquals(new Product("PROD-1", "Wireless Mouse", new BigDecimal("25.00")), snapshot.find("PROD-1"));
+        assertEquals(new BigDecimal("999.99"), snapshot.find("PRÖD-3").price());
+        assertNull(snapshot.find("PROD-0"));
+        assertNull(snapshot.find("PROD-10"));
+    }
+
+    @Test
+    void write_ManySkus_SharesNamesAndFindsAll() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            products.add(new Product("SKU-" + i, i % 2 == 0 ? "T-Shirt" : "Hoodie", BigDecimal.valueOf(i, 2)));
+        }
+        Path file = dir.resolve("big.snap");
+        CatalogSnapshot.write(products, file);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(2, snapshot.nameCount());
+        for (Product product : products) {
+            assertEquals(product.price(), snapshot.find(product.id()).price());
+        }
+    }
+
+    @Test
+    void write_SubMinorUnitPrice_IsRejected() {
+        List<Product> products = List.of(new Product("PROD-1", "Mouse", new BigDecimal("25.005")));
+
+        assertThrows(ArithmeticException.class, () -> CatalogSnapshot.write(products, dir.resolve("bad.snap")));
+    }
+
+    @Test
+    void write_DuplicateIds_IsRejected() {
+        List<Product> products = List.of(
+                new Product("PROD-1", "Mouse", BigDecimal.ONE),
+                new Product("PROD-1", "Mouse again", BigDecimal.TEN));
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.write(products, dir.resolve("dup.snap")));
+    }
+
+    @Test
+    void write_IdOrNameOverUnsignedShortLength_IsRejected() {
+        String tooLong = "x".repeat(65_536);
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.write(
+                List.of(new Product(tooLong, "Mouse", BigDecimal.ONE)), dir.resolve("long-id.snap")));
+        assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.write(
+                List.of(new Product("PROD-1", tooLong, BigDecimal.ONE)), dir.resolve("long-name.snap")));
+    }
+
+    @Test
+    void write_NameOfExactlyTheLimit_RoundTrips() {
+        String longest = "n".repeat(65_535);
+        Path file = dir.resolve("longest.snap");
+        CatalogSnapshot.write(List.of(new Product("PROD-1", longest, BigDecimal.ONE)), file);
+
+        assertEquals(longest, CatalogSnapshot.open(file).find("PROD-1").name());
+    }
+}
@@ -0,0 +1,224 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderResult;
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.tracing.Tracer;
+import com.peerislands.ecommerce.tracing.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitOrderServiceTest {
+
+    @Mock
+    private OrderServiceImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitOrderService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(new OrderIngestionProperties("group-commit", 4, Duration.ofSeconds(5), 100, Duration.ofSeconds(30)));
+    }
+
+    private GroupCommitOrderService service(OrderIngestionProperties properties) {
+        return new GroupCommitOrderService(delegate, properties, meterRegistry,
+                new Tracer(new TracingProperties(false, 1.0, TracingProperties.Exporter.MEMORY, 100, Path.of("spans.jsonl"), 100), List.of()));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void createOrder_ConcurrentRequests_CommittedAsOneBatch() {
+        when(delegate.createOrders(anyList())).thenAnswer(inv -> inv.<List<CreateOrderCommand>>getArgument(0).stream()
+                .map(cmd -> OrderResult.success(orderFor(cmd)))
+                .toList());
+        service.start();
+
+        List<CompletableFuture<Order>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> service.createOrder(command("user-" + i))))
+                .toList();
+
+        List<String> customers = futures.stream().map(CompletableFuture::join).map(Order::customerId).sorted().toList();
+        assertEquals(List.of("user-0", "user-1", "user-2", "user-3"), customers);
+        verify(delegate, times(1)).createOrders(anyList());
+        assertEquals(4.0, meterRegistry.get("orders.ingestion.batch.size").summary().max());
+        assertEquals(4, meterRegistry.get("orders.ingestion.latency").timer().count());
+    }
+
+    @Test
+    void flush_RejectedOrder_FailsOnlyItsOwnRequest() {
+        CreateOrderCommand good = command("good");
+        CreateOrderCommand bad = command("bad");
+        when(delegate.createOrders(List.of(good, bad))).thenReturn(List.of(
+                OrderResult.success(orderFor(good)),
+                OrderResult.failure(new BusinessException(ErrorCode.INSUFFICIENT_STOCK))));
+
+        GroupCommitOrderService.PendingOrder first = pending(good);
+        GroupCommitOrderService.PendingOrder second = pending(bad);
+        service.flush(List.of(first, second));
+
+        assertEquals("good", first.result().join().customerId());
+        BusinessException ex = assertThrows(BusinessException.class, () -> rethrow(second));
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+    }
+
+    @Test
+    void flush_BatchWriteFails_RetriesEachOrderAlone() {
+        CreateOrderCommand good = command("good");
+        CreateOrderCommand poison = command("poison");
+        when(delegate.createOrders(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+        when(delegate.createOrder(good)).thenReturn(orderFor(good));
+        when(delegate.createOrder(poison)).thenThrow(new IllegalStateException("constraint violated"));
+
+        GroupCommitOrderService.PendingOrder first = pending(good);
+        GroupCommitOrderService.PendingOrder second = pending(poison);
+        service.flush(List.of(first, second));
+
+        assertEquals("good", first.result().join().customerId());
+        assertThrows(IllegalStateException.class, () -> rethrow(second));
+    }
+
+    @Test
+    void createOrder_NotRunning_RejectsAsBusy() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.createOrder(command("late")));
+
+        assertEquals(ErrorCode.SERVICE_BUSY, ex.getErrorCode());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void createOrder_FlusherHitsError_FailsBatchAndKeepsRunning() {
+        service = service(new OrderIngestionProperties("group-commit", 1, Duration.ofMillis(1), 100, Duration.ofSeconds(5)));
+        when(delegate.createOrders(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(inv -> List.of(OrderResult.success(orderFor(inv.<List<CreateOrderCommand>>getArgument(0).getFirst()))));
+        service.start();
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.createOrder(command("first")));
+        assertEquals(ErrorCode.INTERNAL_ERROR, ex.getErrorCode());
+        assertEquals("second", service.createOrder(command("second")).customerId());
+    }
+
+    @Test
+    void createOrder_QueuedBehindSlowBatch_TimesOutAndIsNeverWritten() throws Exception {
+        service = service(new OrderIngestionProperties("group-commit", 1, Duration.ofMillis(1), 100, Duration.ofMillis(100)));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.createOrders(anyList())).thenAnswer(inv -> {
+            inFlight.countDown();
+            release.await();
+            return List.of(OrderResult.success(orderFor(inv.<List<CreateOrderCommand>>getArgument(0).getFirst())));
+        });
+        service.start();
+
+        CompletableFuture<Order> slow = CompletableFuture.supplyAsync(() -> service.createOrder(command("slow")));
+        inFlight.await();
+        try {
+            BusinessException ex = assertThrows(BusinessException.class, () -> service.createOrder(command("queued")));
+            assertEquals(ErrorCode.SERVICE_BUSY, ex.getErrorCode());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals("slow", slow.get(1, TimeUnit.SECONDS).customerId());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("orders.ingestion.abandoned").counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1.0, meterRegistry.get("orders.ingestion.abandoned").counter().count());
+        verify(delegate, times(1)).createOrders(anyList());
+    }
+
+    @Test
+    void createOrder_BatchSlowerThanTimeout_WaitsForItsOutcome() {
+        service = service(new OrderIngestionProperties("group-commit", 1, Duration.ofMillis(1), 100, Duration.ofMillis(50)));
+        when(delegate.createOrders(anyList())).thenAnswer(inv -> {
+            Thread.sleep(300);
+            return List.of(OrderResult.success(orderFor(inv.<List<CreateOrderCommand>>getArgument(0).getFirst())));
+        });
+        service.start();
+
+        // The order is already being written when the caller's wait runs out, so a 503 could be retried into a duplicate.
+        assertEquals("slow", service.createOrder(command("slow")).customerId());
+    }
+
+    @Test
+    void stop_OrdersStillQueued_FailAsBusy() throws Exception {
+        // commit timeout (stop's join) is well below the callers' own wait of max-wait + commit timeout
+        service = service(new OrderIngestionProperties("group-commit", 1, Duration.ofSeconds(5), 100, Duration.ofMillis(200)));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.createOrders(anyList())).thenAnswer(inv -> {
+            inFlight.countDown();
+            release.await();
+            return List.of(OrderResult.success(orderFor(inv.<List<CreateOrderCommand>>getArgument(0).getFirst())));
+        });
+        service.start();
+
+        CompletableFuture<Order> first = CompletableFuture.supplyAsync(() -> service.createOrder(command("first")));
+        inFlight.await();
+        CompletableFuture<Order> queued = CompletableFuture.supplyAsync(() -> service.createOrder(command("queued")));
+        while (meterRegistry.get("orders.ingestion.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        service.stop();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.SERVICE_BUSY, ((BusinessException) ex.getCause()).getErrorCode());
+        assertEquals("Order ingestion is shutting down", ex.getCause().getMessage());
+        release.countDown();
+        assertEquals("first", first.get(1, TimeUnit.SECONDS).customerId());
+    }
+
+    private static GroupCommitOrderService.PendingOrder pending(CreateOrderCommand command) {
+        return new GroupCommitOrderService.PendingOrder(command, new CompletableFuture<>(), System.nanoTime(),
+                new AtomicReference<>(GroupCommitOrderService.PendingOrder.State.CLAIMED));
+    }
+
+    private static void rethrow(GroupCommitOrderService.PendingOrder pending) throws Throwable {
+        try {
+            pending.result().join();
+        } catch (java.util.concurrent.CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static CreateOrderCommand command(String customerId) {
+        return new CreateOrderCommand(customerId, List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 1)));
+    }
+
+    private static Order orderFor(CreateOrderCommand command) {
+        return new Order(UUID.randomUUID(), command.customerId(), OrderStatus.PENDING, List.of(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.peerislands.ecommerce.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimerWheelTest {
+
+    private final HoldTimerWheel wheel = new HoldTimerWheel(100, 8, 0);
+
+    @Test
+    void advanceTo_ExpiresOnlyDueHolds() {
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        wheel.schedule(soon, 250);
+        wheel.schedule(later, 600);
+
+        List<UUID> expired = new ArrayList<>();
+        wheel.advanceTo(300, expired::add);
+        assertEquals(List.of(soon), expired);
+
+        wheel.advanceTo(600, expired::add);
+        assertEquals(List.of(soon, later), expired);
+    }
+
+    @Test
+    void advanceTo_DeadlineBeyondOneRevolution_WaitsForItsRound() {
+        UUID farOut = UUID.randomUUID();
+        wheel.schedule(farOut, 2_050);
+
+        List<UUID> expired = new ArrayList<>();
+        wheel.advanceTo(1_000, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(2_100, expired::add);
+        assertEquals(List.of(farOut), expired);
+    }
+
+    @Test
+    void schedule_DeadlineInThePast_FiresOnNextTick() {
+        wheel.advanceTo(500, id -> fail("nothing scheduled yet"));
+
+        UUID late = UUID.randomUUID();
+        wheel.schedule(late, 100);
+
+        List<UUID> expired = new ArrayList<>();
+        wheel.advanceTo(600, expired::add);
+        assertEquals(List.of(late), expired);
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,4 +47,20 @@ class InMemoryCatalogServiceImplTest {
         assertDoesNotThrow(() -> catalogService.getProduct("PROD-2"));
         assertDoesNotThrow(() -> catalogService.getProduct("PROD-3"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProducts_ReturnsAllRequested() {
+        Map<String, Product> result = catalogService.getProducts(List.of("PROD-1", "PROD-3"));
+
+        assertEquals(2, result.size());
+        assertEquals("iPhone 15", result.get("PROD-3").name());
+    }
+
+    @Test
+    void getProducts_UnknownId_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> catalogService.getProducts(List.of("PROD-1", "UNKNOWN-ID")));
+
+        assertEquals(ErrorCode.PRODUCT_NOT_FOUND, ex.getErrorCode());
+    }
+}
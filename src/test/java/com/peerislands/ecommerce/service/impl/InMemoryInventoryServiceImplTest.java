@@ -2,9 +2,16 @@ package com.peerislands.ecommerce.service.impl;
 
 import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class InMemoryInventoryServiceImplTest {
@@ -17,6 +24,17 @@ class InMemoryInventoryServiceImplTest {
         inventoryService.init();
     }
 
+    @Test
+    void bindTo_ExportsStockPerSku() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        inventoryService.bindTo(meterRegistry);
+
+        inventoryService.reserveStock("PROD-1", 10);
+
+        assertEquals(90.0, meterRegistry.get("inventory.stock").tag("sku", "PROD-1").gauge().value());
+        assertEquals(0.0, meterRegistry.get("inventory.lock.contended").functionCounter().count());
+    }
+
     @Test
     void hasStock_EnoughStock_ReturnsTrue() {
         assertTrue(inventoryService.hasStock("PROD-1", 50));
@@ -80,4 +98,189 @@ class InMemoryInventoryServiceImplTest {
 
         assertTrue(inventoryService.hasStock("PROD-1", 100));
     }
-}
\ No newline at end of file
+
+    @Test
+    void reserveAll_Success_ReservesEveryLine() {
+        inventoryService.reserveAll(List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 5)));
+
+        assertTrue(inventoryService.hasStock("PROD-1", 90));
+        assertFalse(inventoryService.hasStock("PROD-1", 91));
+        assertTrue(inventoryService.hasStock("PROD-2", 45));
+        assertFalse(inventoryService.hasStock("PROD-2", 46));
+    }
+
+    @Test
+    void reserveAll_OneLineShort_ReservesNothing() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                        new CreateOrderCommand.OrderItemCommand("PROD-3", 3))));
+
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertTrue(inventoryService.hasStock("PROD-3", 2));
+    }
+
+    @Test
+    void reserveAll_UnknownProduct_ReservesNothing() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                        new CreateOrderCommand.OrderItemCommand("INVALID-ID", 1))));
+
+        assertEquals(ErrorCode.INVENTORY_RECORD_NOT_FOUND, ex.getErrorCode());
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+    }
+
+    @Test
+    void reserveAll_DuplicateLines_AreSummedBeforeCheck() {
+        assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-3", 1),
+                        new CreateOrderCommand.OrderItemCommand("PROD-3", 2))));
+
+        assertTrue(inventoryService.hasStock("PROD-3", 2));
+    }
+
+    @Test
+    void releaseAll_RestoresEveryLine() {
+        List<CreateOrderCommand.OrderItemCommand> basket = List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 5));
+
+        inventoryService.reserveAll(basket);
+        inventoryService.releaseAll(basket);
+
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertTrue(inventoryService.hasStock("PROD-2", 50));
+    }
+
+    @Test
+    void reserveAll_OverlappingBasketsInOppositeOrder_NeitherDeadlocksNorLosesUpdates() {
+        List<CreateOrderCommand.OrderItemCommand> forward = List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 1),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 1));
+        List<CreateOrderCommand.OrderItemCommand> backward = forward.reversed();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            CompletableFuture<Void> a = CompletableFuture.runAsync(() -> churn(forward));
+            CompletableFuture<Void> b = CompletableFuture.runAsync(() -> churn(backward));
+            CompletableFuture.allOf(a, b).join();
+        });
+
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertFalse(inventoryService.hasStock("PROD-1", 101));
+        assertTrue(inventoryService.hasStock("PROD-2", 50));
+        assertFalse(inventoryService.hasStock("PROD-2", 51));
+    }
+
+    private void churn(List<CreateOrderCommand.OrderItemCommand> basket) {
+        for (int i = 0; i < 10_000; i++) {
+            inventoryService.reserveAll(basket);
+            inventoryService.releaseAll(basket);
+        }
+    }
+
+    @Test
+    void hold_Commit_KeepsStockReserved() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+
+        inventoryService.commit(hold);
+        inventoryService.abort(hold);
+
+        assertFalse(inventoryService.hasStock("PROD-2", 46));
+        assertEquals(0, inventoryService.activeHoldCount());
+    }
+
+    @Test
+    void hold_Abort_ReturnsStockOnce() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+        assertFalse(inventoryService.hasStock("PROD-2", 46));
+
+        inventoryService.abort(hold);
+        inventoryService.abort(hold);
+
+        assertTrue(inventoryService.hasStock("PROD-2", 50));
+        assertFalse(inventoryService.hasStock("PROD-2", 51));
+    }
+
+    @Test
+    void hold_Expired_ReturnsStockAndCommitReReserves() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-3", 2)), Duration.ofMillis(10));
+
+        inventoryService.expireHolds(System.currentTimeMillis() + 1_000);
+        assertTrue(inventoryService.hasStock("PROD-3", 2));
+        assertEquals(0, inventoryService.activeHoldCount());
+
+        inventoryService.commit(hold);
+        assertFalse(inventoryService.hasStock("PROD-3", 1));
+    }
+
+    @Test
+    void hold_ExpiredAndStockGone_CommitFails() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-3", 2)), Duration.ofMillis(10));
+        inventoryService.expireHolds(System.currentTimeMillis() + 1_000);
+        inventoryService.reserveStock("PROD-3", 1);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> inventoryService.commit(hold));
+        assertEquals(ErrorCode.RESERVATION_EXPIRED, ex.getErrorCode());
+    }
+
+    @Test
+    void hold_CommittedTwice_TakesStockOnce() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+
+        inventoryService.commit(hold);
+        inventoryService.commit(hold);
+
+        assertTrue(inventoryService.hasStock("PROD-2", 45));
+        assertFalse(inventoryService.hasStock("PROD-2", 46));
+    }
+
+    @Test
+    void hold_CommitAfterAbort_FailsAndTakesNothing() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+        inventoryService.abort(hold);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> inventoryService.commit(hold));
+
+        assertEquals(ErrorCode.RESERVATION_ABORTED, ex.getErrorCode());
+        assertTrue(inventoryService.hasStock("PROD-2", 50));
+    }
+
+    @Test
+    void hold_ExpiredThenCommittedTwice_ReReservesOnce() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMillis(10));
+        inventoryService.expireHolds(System.currentTimeMillis() + 1_000);
+
+        inventoryService.commit(hold);
+        inventoryService.commit(hold);
+        inventoryService.abort(hold);
+
+        assertTrue(inventoryService.hasStock("PROD-2", 45));
+        assertFalse(inventoryService.hasStock("PROD-2", 46));
+    }
+
+    @Test
+    void hold_ExpiredCommitFailed_CanBeRetriedOnceStockIsBack() {
+        ReservationHandle hold = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-3", 2)), Duration.ofMillis(10));
+        inventoryService.expireHolds(System.currentTimeMillis() + 1_000);
+        inventoryService.reserveStock("PROD-3", 1);
+        assertThrows(BusinessException.class, () -> inventoryService.commit(hold));
+
+        inventoryService.releaseStock("PROD-3", 1);
+        inventoryService.commit(hold);
+
+        assertFalse(inventoryService.hasStock("PROD-3", 1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.peerislands.ecommerce.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InventoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_RecordPublishedPastUnwrittenClaim_IsNotLost() {
+        Path file = directory.resolve("journal");
+        try (InventoryJournal journal = new InventoryJournal(file, 8)) {
+            journal.reset(1);
+            long first = journal.claim(1);
+            long second = journal.claim(1);
+            // the first claimant dies before writing; the second publishes
+            journal.write(second, 7, -3);
+            assertEquals(0, first);
+        }
+
+        try (InventoryJournal reopened = new InventoryJournal(file, 8)) {
+            List<int[]> visited = new ArrayList<>();
+            assertEquals(1, reopened.replay((slot, delta, hold, expiresAt) -> visited.add(new int[]{slot, delta})));
+            assertEquals(1, visited.size());
+            assertEquals(7, visited.getFirst()[0]);
+            assertEquals(-3, visited.getFirst()[1]);
+
+            // new claims land after the published record instead of overwriting it
+            assertEquals(2, reopened.claim(1));
+        }
+    }
+
+    @Test
+    void replay_IgnoresRecordsOfEarlierEpoch() {
+        Path file = directory.resolve("journal");
+        try (InventoryJournal journal = new InventoryJournal(file, 8)) {
+            journal.reset(1);
+            journal.write(journal.claim(1), 1, -1);
+            journal.reset(2);
+        }
+
+        try (InventoryJournal reopened = new InventoryJournal(file, 8)) {
+            assertEquals(0, reopened.replay((slot, delta, hold, expiresAt) -> {}));
+            assertEquals(0, reopened.claim(1));
+        }
+    }
+
+    @Test
+    void replay_ReportsHoldKeyAndExpiry() {
+        Path file = directory.resolve("journal");
+        try (InventoryJournal journal = new InventoryJournal(file, 8)) {
+            journal.reset(1);
+            journal.write(journal.claim(1), 3, -2, 42, 1_000);
+            journal.write(journal.claim(1), InventoryJournal.HOLD_COMMITTED, 0, 42, 0);
+        }
+
+        try (InventoryJournal reopened = new InventoryJournal(file, 8)) {
+            List<long[]> visited = new ArrayList<>();
+            reopened.replay((slot, delta, hold, expiresAt) -> visited.add(new long[]{slot, delta, hold, expiresAt}));
+            assertEquals(2, visited.size());
+            assertArrayEquals(new long[]{3, -2, 42, 1_000}, visited.get(0));
+            assertArrayEquals(new long[]{InventoryJournal.HOLD_COMMITTED, 0, 42, 0}, visited.get(1));
+        }
+    }
+}
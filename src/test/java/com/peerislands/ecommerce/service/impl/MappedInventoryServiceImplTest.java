@@ -0,0 +1,166 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedInventoryServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedInventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = open(1024);
+    }
+
+    @Test
+    void init_EmptyDirectory_SeedsDefaultStock() {
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertFalse(inventoryService.hasStock("PROD-1", 101));
+        assertTrue(inventoryService.hasStock("PROD-3", 2));
+    }
+
+    @Test
+    void reserveAll_SurvivesRestartWithoutCheckpoint() {
+        inventoryService.reserveAll(List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 5)));
+        inventoryService.releaseStock("PROD-1", 3);
+
+        MappedInventoryServiceImpl restarted = open(1024);
+
+        assertTrue(restarted.hasStock("PROD-1", 93));
+        assertFalse(restarted.hasStock("PROD-1", 94));
+        assertTrue(restarted.hasStock("PROD-2", 45));
+        assertFalse(restarted.hasStock("PROD-2", 46));
+    }
+
+    @Test
+    void reserveAll_AfterCheckpoint_ReplaysOnlyNewRecords() {
+        inventoryService.reserveStock("PROD-1", 10);
+        inventoryService.checkpoint();
+        inventoryService.reserveStock("PROD-1", 5);
+
+        MappedInventoryServiceImpl restarted = open(1024);
+
+        assertTrue(restarted.hasStock("PROD-1", 85));
+        assertFalse(restarted.hasStock("PROD-1", 86));
+    }
+
+    @Test
+    void reserveAll_InsufficientStock_IsNotPersisted() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                        new CreateOrderCommand.OrderItemCommand("PROD-3", 3))));
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        inventoryService.reserveStock("PROD-2", 1);
+
+        MappedInventoryServiceImpl restarted = open(1024);
+
+        assertTrue(restarted.hasStock("PROD-1", 100));
+        assertTrue(restarted.hasStock("PROD-3", 2));
+        assertFalse(restarted.hasStock("PROD-2", 50));
+    }
+
+    @Test
+    void reserveAll_JournalFull_CheckpointsAndContinues() {
+        MappedInventoryServiceImpl small = open(4);
+        for (int i = 0; i < 25; i++) {
+            small.reserveStock("PROD-1", 1);
+        }
+
+        MappedInventoryServiceImpl restarted = open(4);
+
+        assertTrue(restarted.hasStock("PROD-1", 75));
+        assertFalse(restarted.hasStock("PROD-1", 76));
+    }
+
+    @Test
+    void reserveStock_ProductNotFound_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveStock("INVALID-ID", 1));
+
+        assertEquals(ErrorCode.INVENTORY_RECORD_NOT_FOUND, ex.getErrorCode());
+    }
+
+    @Test
+    void close_ReturnsOutstandingHolds() {
+        inventoryService.hold(List.of(new CreateOrderCommand.OrderItemCommand("PROD-3", 2)), Duration.ofMinutes(1));
+        assertFalse(inventoryService.hasStock("PROD-3", 1));
+
+        inventoryService.close();
+        MappedInventoryServiceImpl restarted = open(1024);
+
+        assertTrue(restarted.hasStock("PROD-3", 2));
+    }
+
+    @Test
+    void hold_CrashWithoutClose_StockComesBackAfterTtl() {
+        inventoryService.hold(List.of(new CreateOrderCommand.OrderItemCommand("PROD-3", 2)), Duration.ofMinutes(1));
+
+        MappedInventoryServiceImpl restarted = open(1024);
+        assertFalse(restarted.hasStock("PROD-3", 1), "The hold is re-armed, not returned early");
+        assertEquals(1, restarted.activeHoldCount());
+
+        restarted.expireHolds(System.currentTimeMillis() + Duration.ofMinutes(2).toMillis());
+        assertTrue(restarted.hasStock("PROD-3", 2));
+
+        MappedInventoryServiceImpl restartedAgain = open(1024);
+        assertTrue(restartedAgain.hasStock("PROD-3", 2));
+        assertFalse(restartedAgain.hasStock("PROD-3", 3));
+        assertEquals(0, restartedAgain.activeHoldCount());
+    }
+
+    @Test
+    void hold_CheckpointThenCrash_IsStillRecovered() {
+        inventoryService.hold(List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+        inventoryService.checkpoint();
+
+        MappedInventoryServiceImpl restarted = open(1024);
+        assertFalse(restarted.hasStock("PROD-1", 91));
+        assertFalse(restarted.hasStock("PROD-2", 46));
+
+        restarted.expireHolds(System.currentTimeMillis() + Duration.ofMinutes(2).toMillis());
+        assertTrue(restarted.hasStock("PROD-1", 100));
+        assertTrue(restarted.hasStock("PROD-2", 50));
+    }
+
+    @Test
+    void hold_CommittedOrAbortedBeforeCrash_IsNotReArmed() {
+        ReservationHandle committed = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 10)), Duration.ofMinutes(1));
+        ReservationHandle aborted = inventoryService.hold(
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-2", 5)), Duration.ofMinutes(1));
+        inventoryService.commit(committed);
+        inventoryService.abort(aborted);
+
+        MappedInventoryServiceImpl restarted = open(1024);
+
+        assertEquals(0, restarted.activeHoldCount());
+        assertTrue(restarted.hasStock("PROD-1", 90));
+        assertFalse(restarted.hasStock("PROD-1", 91));
+        assertTrue(restarted.hasStock("PROD-2", 50));
+    }
+
+    private MappedInventoryServiceImpl open(int journalCapacity) {
+        MappedInventoryServiceImpl service = new MappedInventoryServiceImpl(directory, journalCapacity);
+        service.init();
+        return service;
+    }
+}
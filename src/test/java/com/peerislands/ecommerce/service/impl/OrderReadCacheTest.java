@@ -0,0 +1,144 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderStatus;
+import com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderReadCacheTest {
+
+    private static final String CUSTOMER_ID = "user-1";
+    private static final CustomerOrdersStamp STAMP = new CustomerOrdersStamp(1L, 0L, LocalDateTime.of(2026, 1, 1, 12, 0));
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderReadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OrderReadCache(new OrderCacheProperties(true, 100, 100, Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    @Test
+    void putOrder_ReadStartedBeforeEviction_IsNotCached() {
+        Order order = order(UUID.randomUUID(), OrderStatus.PENDING);
+        long ticket = cache.ticket();
+
+        cache.onOrdersChanged(changed(order));
+        cache.putOrder(order, 0, ticket);
+
+        assertNull(cache.getOrder(order.id(), version(0)));
+    }
+
+    @Test
+    void putOrder_OlderVersion_DoesNotReplaceNewer() {
+        UUID id = UUID.randomUUID();
+        Order processing = order(id, OrderStatus.PROCESSING);
+
+        cache.putOrder(processing, 1, cache.ticket());
+        cache.putOrder(order(id, OrderStatus.PENDING), 0, cache.ticket());
+
+        assertEquals(OrderStatus.PROCESSING, cache.getOrder(id, version(1)).status());
+    }
+
+    @Test
+    void onOrdersChanged_EvictsOrderAndCustomerFirstPages() {
+        Order order = order(UUID.randomUUID(), OrderStatus.PENDING);
+        Page<Order> page = new PageImpl<>(List.of(order));
+        cache.putOrder(order, 0, cache.ticket());
+        cache.putFirstPage(CUSTOMER_ID, null, 10, page, STAMP, cache.ticket());
+        assertSame(page, cache.getFirstPage(CUSTOMER_ID, null, 10, STAMP));
+
+        cache.onOrdersChanged(changed(order));
+
+        assertNull(cache.getOrder(order.id(), version(0)));
+        assertNull(cache.getFirstPage(CUSTOMER_ID, null, 10, STAMP));
+        cache.putFirstPage(CUSTOMER_ID, null, 10, page, STAMP, cache.ticket());
+        assertSame(page, cache.getFirstPage(CUSTOMER_ID, null, 10, STAMP));
+    }
+
+    @Test
+    void getOrder_ExportsHitRatio() {
+        Order order = order(UUID.randomUUID(), OrderStatus.PENDING);
+        cache.putOrder(order, 0, cache.ticket());
+
+        cache.getOrder(order.id(), version(0));
+        cache.getOrder(UUID.randomUUID(), version(0));
+
+        assertEquals(0.5, meterRegistry.get("orders.cache.hit.ratio").tag("cache", "orders.by-id").gauge().value());
+    }
+
+    @Test
+    void disabled_NeverCaches() {
+        cache = new OrderReadCache(new OrderCacheProperties(false, 100, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        Order order = order(UUID.randomUUID(), OrderStatus.PENDING);
+
+        cache.putOrder(order, 0, cache.ticket());
+
+        assertNull(cache.getOrder(order.id(), version(0)));
+    }
+
+    @Test
+    void getOrder_VersionChangedElsewhere_IsDroppedAsStale() {
+        Order order = order(UUID.randomUUID(), OrderStatus.PENDING);
+        cache.putOrder(order, 0, cache.ticket());
+
+        // e.g. the processing job moved it to PROCESSING without an event on this node
+        assertNull(cache.getOrder(order.id(), version(1)));
+
+        assertNull(cache.getOrder(order.id(), version(0)), "A stale entry is removed, not kept for later");
+        assertEquals(1.0, meterRegistry.get("orders.cache.stale").tag("cache", "orders.by-id").counter().count());
+    }
+
+    @Test
+    void getOrder_ArchivedElsewhere_IsDroppedAsStale() {
+        Order order = order(UUID.randomUUID(), OrderStatus.DELIVERED);
+        cache.putOrder(order, 3, cache.ticket());
+
+        assertNull(cache.getOrder(order.id(), Optional::empty));
+    }
+
+    @Test
+    void getOrder_Miss_DoesNotAskForTheVersion() {
+        assertNull(cache.getOrder(UUID.randomUUID(), () -> fail("Version looked up on a miss")));
+    }
+
+    @Test
+    void getFirstPage_CustomerOrdersChangedElsewhere_IsDroppedAsStale() {
+        Page<Order> page = new PageImpl<>(List.of(order(UUID.randomUUID(), OrderStatus.PENDING)));
+        cache.putFirstPage(CUSTOMER_ID, null, 10, page, STAMP, cache.ticket());
+
+        CustomerOrdersStamp transitioned = new CustomerOrdersStamp(STAMP.orders(), STAMP.versions() + 1, STAMP.newestCreatedAt());
+        assertNull(cache.getFirstPage(CUSTOMER_ID, null, 10, transitioned));
+
+        assertNull(cache.getFirstPage(CUSTOMER_ID, null, 10, STAMP));
+        assertEquals(1.0, meterRegistry.get("orders.cache.stale").tag("cache", "orders.first-page").counter().count());
+    }
+
+    private static Supplier<Optional<Integer>> version(int version) {
+        return () -> Optional.of(version);
+    }
+
+    private static Order order(UUID id, OrderStatus status) {
+        return new Order(id, CUSTOMER_ID, status, List.of(), LocalDateTime.now());
+    }
+
+    private static OrdersChangedEvent changed(Order order) {
+        return new OrdersChangedEvent(List.of(new OrderRef(order.id(), order.customerId())));
+    }
+}
@@ -1,46 +1,83 @@
 package com.peerislands.ecommerce.service.impl;
 
+import com.peerislands.ecommerce.datasource.ReadRouting;
+import com.peerislands.ecommerce.datasource.ReplicaProperties;
 import com.peerislands.ecommerce.entity.OrderEntity;
 import com.peerislands.ecommerce.entity.OrderItemEntity;
 import com.peerislands.ecommerce.model.OrderStatus;
 import com.peerislands.ecommerce.exception.BusinessException;
 import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.exception.InsufficientStockException;
 import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.CursorPage;
 import com.peerislands.ecommerce.model.Order;
+import com.peerislands.ecommerce.model.OrderCursor;
+import com.peerislands.ecommerce.model.OrderResult;
 import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.model.ReservationHandle;
+import com.peerislands.ecommerce.repository.OrderHistoryRepository;
 import com.peerislands.ecommerce.repository.OrderRepository;
+import com.peerislands.ecommerce.repository.projection.CustomerOrdersStamp;
+import com.peerislands.ecommerce.repository.projection.OrderItemView;
+import com.peerislands.ecommerce.repository.projection.OrderRef;
+import com.peerislands.ecommerce.repository.projection.OrderSummaryView;
 import com.peerislands.ecommerce.service.CatalogService;
 import com.peerislands.ecommerce.service.InventoryService;
+import com.peerislands.ecommerce.service.event.OrdersChangedEvent;
+import com.peerislands.ecommerce.service.validator.OrderValidationPipeline;
 import com.peerislands.ecommerce.service.validator.OrderValidator;
+import com.peerislands.ecommerce.tracing.Tracer;
+import com.peerislands.ecommerce.tracing.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
 
     @Mock private OrderRepository orderRepository;
+    @Mock private OrderHistoryRepository orderHistoryRepository;
     @Mock private CatalogService catalogService;
     @Mock private InventoryService inventoryService;
     @Mock private OrderValidator mockValidator;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private OrderServiceImpl orderService;
+    private OrderReadCache orderCache;
 
     private Product mockProduct;
     private OrderEntity mockOrderEntity;
@@ -57,10 +94,17 @@ class OrderServiceImplTest {
                 .customerId(CUSTOMER_ID)
                 .status(OrderStatus.PENDING)
                 .createdAt(LocalDateTime.now())
+                .version(0)
                 .items(Collections.emptyList())
                 .build();
 
-        orderService = new OrderServiceImpl(orderRepository, catalogService, inventoryService, List.of(mockValidator));
+        orderCache = new OrderReadCache(new OrderCacheProperties(true, 100, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        orderService = new OrderServiceImpl(orderRepository, orderHistoryRepository, catalogService, inventoryService,
+                new OrderValidationPipeline(List.of(mockValidator), inventoryService),
+                orderCache, eventPublisher, new OrderServiceMetrics(new SimpleMeterRegistry()),
+                new Tracer(new TracingProperties(false, 1.0, TracingProperties.Exporter.MEMORY, 100, Path.of("spans.jsonl"), 100), List.of()),
+                new ReadRouting(new ReplicaProperties(false, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(1), 10, List.of()),
+                        mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -70,7 +114,10 @@ class OrderServiceImplTest {
                 List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 2))
         );
 
-        when(catalogService.getProduct("PROD-1")).thenReturn(mockProduct);
+        ReservationHandle hold = new ReservationHandle(UUID.randomUUID(), cmd.items(), Instant.now().plusSeconds(60));
+
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
+        when(inventoryService.hold(eq(cmd.items()), any(Duration.class))).thenReturn(hold);
         when(orderRepository.save(any(OrderEntity.class))).thenReturn(mockOrderEntity);
 
         Order result = orderService.createOrder(cmd);
@@ -78,10 +125,82 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(CUSTOMER_ID, result.customerId());
 
-        verify(catalogService).getProduct("PROD-1");
+        verify(catalogService).getProducts(Set.of("PROD-1"));
         verify(mockValidator).validate(any(), eq(mockProduct));
-        verify(inventoryService).reserveStock("PROD-1", 2);
         verify(orderRepository).save(any(OrderEntity.class));
+        verify(inventoryService).commit(hold);
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(List.of(new OrderRef(orderId, CUSTOMER_ID))));
+    }
+
+    @Test
+    void createOrder_ResolvesWholeBasketInOneCatalogCall() {
+        Product keyboard = new Product("PROD-2", "Keyboard", new BigDecimal("150.00"));
+        CreateOrderCommand cmd = new CreateOrderCommand(
+                CUSTOMER_ID,
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 1),
+                        new CreateOrderCommand.OrderItemCommand("PROD-2", 1),
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 3))
+        );
+
+        when(catalogService.getProducts(Set.of("PROD-1", "PROD-2")))
+                .thenReturn(Map.of("PROD-1", mockProduct, "PROD-2", keyboard));
+        when(orderRepository.save(any(OrderEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Order result = orderService.createOrder(cmd);
+
+        assertEquals(3, result.items().size());
+        assertEquals(new BigDecimal("150.00"), result.items().get(1).price());
+        verify(catalogService, times(1)).getProducts(any());
+        verify(catalogService, never()).getProduct(any());
+    }
+
+    @Test
+    void createOrder_LinksEveryItemToItsOrder() {
+        CreateOrderCommand cmd = new CreateOrderCommand(
+                CUSTOMER_ID,
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 2),
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 1))
+        );
+
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
+        when(orderRepository.save(any(OrderEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        orderService.createOrder(cmd);
+
+        ArgumentCaptor<OrderEntity> saved = ArgumentCaptor.forClass(OrderEntity.class);
+        verify(orderRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getItems().size());
+        assertTrue(saved.getValue().getItems().stream().allMatch(item -> item.getOrder() == saved.getValue()));
+    }
+
+    @Test
+    void createOrders_OneOrderRejected_OthersSavedTogether() {
+        Product unknown = new Product("PROD-X", "Unknown", new BigDecimal("1.00"));
+        CreateOrderCommand good = new CreateOrderCommand(CUSTOMER_ID, List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 1)));
+        CreateOrderCommand bad = new CreateOrderCommand(CUSTOMER_ID, List.of(new CreateOrderCommand.OrderItemCommand("PROD-X", 1)));
+
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
+        when(catalogService.getProducts(Set.of("PROD-X"))).thenReturn(Map.of("PROD-X", unknown));
+        doAnswer(inv -> {
+            if (inv.getArgument(1) == unknown) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+            }
+            return null;
+        }).when(mockValidator).validate(any(), any());
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<OrderResult> results = orderService.createOrders(List.of(good, bad, good));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, results.get(1).error().getErrorCode());
+        assertTrue(results.get(2).isSuccess());
+
+        ArgumentCaptor<List<OrderEntity>> saved = ArgumentCaptor.captor();
+        verify(orderRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(orderRepository, never()).save(any());
+        verify(orderRepository).flush();
     }
 
     @Test
@@ -91,13 +210,13 @@ class OrderServiceImplTest {
                 List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 500))
         );
 
-        when(catalogService.getProduct("PROD-1")).thenReturn(mockProduct);
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
         doThrow(new BusinessException(ErrorCode.INSUFFICIENT_STOCK))
                 .when(mockValidator).validate(any(), any());
 
         assertThrows(BusinessException.class, () -> orderService.createOrder(cmd));
 
-        verify(inventoryService, never()).reserveStock(any(), anyInt());
+        verify(inventoryService, never()).hold(any(), any());
         verify(orderRepository, never()).save(any());
     }
 
@@ -108,15 +227,33 @@ class OrderServiceImplTest {
                 List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 2))
         );
 
-        when(catalogService.getProduct("PROD-1")).thenReturn(mockProduct);
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
         doThrow(new BusinessException(ErrorCode.INSUFFICIENT_STOCK))
-                .when(inventoryService).reserveStock(any(), anyInt());
+                .when(inventoryService).hold(any(), any());
 
         assertThrows(BusinessException.class, () -> orderService.createOrder(cmd));
 
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void createOrder_ReservationShort_ReportsProductName() {
+        CreateOrderCommand cmd = new CreateOrderCommand(
+                CUSTOMER_ID,
+                List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 2))
+        );
+
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
+        doThrow(new InsufficientStockException("PROD-1"))
+                .when(inventoryService).hold(any(), any());
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> orderService.createOrder(cmd));
+
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        assertEquals("Insufficient stock for 'Test Widget'.", ex.getMessage());
+        verify(inventoryService, never()).hasStock(any(), any());
+    }
+
     @Test
     void createOrder_DbSaveFails_ShouldCompensateStock() {
         CreateOrderCommand cmd = new CreateOrderCommand(
@@ -124,19 +261,22 @@ class OrderServiceImplTest {
                 List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 2))
         );
 
-        when(catalogService.getProduct("PROD-1")).thenReturn(mockProduct);
-        doNothing().when(inventoryService).reserveStock("PROD-1", 2);
+        ReservationHandle hold = new ReservationHandle(UUID.randomUUID(), cmd.items(), Instant.now().plusSeconds(60));
+
+        when(catalogService.getProducts(Set.of("PROD-1"))).thenReturn(Map.of("PROD-1", mockProduct));
+        when(inventoryService.hold(eq(cmd.items()), any(Duration.class))).thenReturn(hold);
         when(orderRepository.save(any())).thenThrow(new RuntimeException("DB Connection Died"));
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> orderService.createOrder(cmd));
         assertEquals("DB Connection Died", ex.getMessage());
 
-        verify(inventoryService).releaseStock("PROD-1", 2);
+        verify(inventoryService).abort(hold);
+        verify(inventoryService, never()).commit(any());
     }
 
     @Test
     void getOrder_Success() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
 
         Order result = orderService.getOrder(orderId, CUSTOMER_ID);
         assertEquals(orderId, result.id());
@@ -144,7 +284,7 @@ class OrderServiceImplTest {
 
     @Test
     void getOrder_NotFound() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
 
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> orderService.getOrder(orderId, CUSTOMER_ID));
@@ -153,37 +293,182 @@ class OrderServiceImplTest {
 
     @Test
     void getOrder_AccessDenied() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> orderService.getOrder(orderId, "hacker-user"));
+        assertEquals(ErrorCode.ACCESS_DENIED, ex.getErrorCode());
+    }
 
+    @Test
+    void getOrder_SecondRead_ServedFromCacheAndStillOwnerChecked() {
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findVersionById(orderId)).thenReturn(Optional.of(0));
+
+        orderService.getOrder(orderId, CUSTOMER_ID);
+        assertEquals(orderId, orderService.getOrder(orderId, CUSTOMER_ID).id());
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> orderService.getOrder(orderId, "hacker-user"));
+
         assertEquals(ErrorCode.ACCESS_DENIED, ex.getErrorCode());
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
+    }
+
+    @Test
+    void getOrder_AfterChangeEvent_ReloadsFromRepository() {
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+
+        orderService.getOrder(orderId, CUSTOMER_ID);
+        orderCache.onOrdersChanged(new OrdersChangedEvent(List.of(new OrderRef(orderId, CUSTOMER_ID))));
+        orderService.getOrder(orderId, CUSTOMER_ID);
+
+        verify(orderRepository, times(2)).findWithItemsById(orderId);
+    }
+
+    @Test
+    void getOrder_ChangedByAnotherNodeOrJob_ReloadsInsteadOfServingCachedCopy() {
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        orderService.getOrder(orderId, CUSTOMER_ID);
+
+        mockOrderEntity.setStatus(OrderStatus.PROCESSING);
+        mockOrderEntity.setVersion(1);
+        when(orderRepository.findVersionById(orderId)).thenReturn(Optional.of(1));
+
+        assertEquals(OrderStatus.PROCESSING, orderService.getOrder(orderId, CUSTOMER_ID).status());
+        verify(orderRepository, times(2)).findWithItemsById(orderId);
+    }
+
+    @Test
+    void getAllOrders_FirstPage_ServedFromCacheWhileCustomerStampIsUnchanged() {
+        CustomerOrdersStamp stamp = new CustomerOrdersStamp(1L, 0L, mockOrderEntity.getCreatedAt());
+        when(orderRepository.findStampByCustomerId(CUSTOMER_ID)).thenReturn(stamp);
+        when(orderRepository.findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summaryOf(mockOrderEntity))));
+
+        orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, false);
+        orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, false);
+        verify(orderRepository, times(1)).findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class));
+
+        // the processing job bumps a version on another node
+        when(orderRepository.findStampByCustomerId(CUSTOMER_ID)).thenReturn(new CustomerOrdersStamp(1L, 1L, stamp.newestCreatedAt()));
+        orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, false);
+        verify(orderRepository, times(2)).findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class));
     }
 
     @Test
     void getAllOrders_NoFilter() {
-        Page<OrderEntity> page = new PageImpl<>(List.of(mockOrderEntity));
-        when(orderRepository.findByCustomerId(eq(CUSTOMER_ID), any(Pageable.class)))
+        Page<OrderSummaryView> page = new PageImpl<>(List.of(summaryOf(mockOrderEntity)));
+        when(orderRepository.findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class)))
                 .thenReturn(page);
 
-        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, null, 0, 10);
+        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, false);
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void getAllOrders_LoadsItemsForWholePageInOneQuery() {
+        UUID otherId = UUID.randomUUID();
+        Page<OrderSummaryView> page = new PageImpl<>(List.of(
+                summaryOf(mockOrderEntity),
+                new OrderSummaryView(otherId, CUSTOMER_ID, OrderStatus.SHIPPED, LocalDateTime.now())));
+        when(orderRepository.findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class)))
+                .thenReturn(page);
+        when(orderRepository.findItemViewsByOrderIds(List.of(orderId, otherId))).thenReturn(List.of(
+                new OrderItemView(orderId, "PROD-1", 2, new BigDecimal("25.00")),
+                new OrderItemView(orderId, "PROD-2", 1, new BigDecimal("150.00")),
+                new OrderItemView(otherId, "PROD-3", 1, new BigDecimal("999.00"))));
+
+        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, false);
+
+        assertEquals(2, result.getContent().get(0).items().size());
+        assertEquals("PROD-3", result.getContent().get(1).items().getFirst().productId());
+        verify(orderRepository, times(1)).findItemViewsByOrderIds(any());
+    }
+
+    @Test
+    void getAllOrders_IncludeArchivedReadsHistoryAndSkipsCache() {
+        UUID archivedId = UUID.randomUUID();
+        Page<OrderSummaryView> page = new PageImpl<>(List.of(
+                new OrderSummaryView(archivedId, CUSTOMER_ID, OrderStatus.DELIVERED, LocalDateTime.now().minusYears(1))));
+        when(orderHistoryRepository.findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class))).thenReturn(page);
+        when(orderHistoryRepository.findItemViewsByOrderIds(List.of(archivedId))).thenReturn(List.of(
+                new OrderItemView(archivedId, "PROD-1", 1, new BigDecimal("25.00"))));
+
+        orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, true);
+        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, null, 0, 10, true);
+
+        assertEquals(OrderStatus.DELIVERED, result.getContent().getFirst().status());
+        assertEquals("PROD-1", result.getContent().getFirst().items().getFirst().productId());
+        verify(orderHistoryRepository, times(2)).findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getAllOrders_IncludeArchivedBreaksCreatedAtTiesById() {
+        when(orderHistoryRepository.findSummariesByCustomerId(eq(CUSTOMER_ID), any(Pageable.class))).thenReturn(Page.empty());
+
+        orderService.getAllOrders(CUSTOMER_ID, null, 1, 10, true);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(orderHistoryRepository).findSummariesByCustomerId(eq(CUSTOMER_ID), pageable.capture());
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), pageable.getValue().getSort());
+    }
+
     @Test
     void getAllOrders_WithValidFilter() {
-        Page<OrderEntity> page = new PageImpl<>(List.of(mockOrderEntity));
-        when(orderRepository.findByCustomerIdAndStatus(eq(CUSTOMER_ID), eq(OrderStatus.PENDING), any(Pageable.class)))
+        Page<OrderSummaryView> page = new PageImpl<>(List.of(summaryOf(mockOrderEntity)));
+        when(orderRepository.findSummariesByCustomerIdAndStatus(eq(CUSTOMER_ID), eq(OrderStatus.PENDING), any(Pageable.class)))
                 .thenReturn(page);
 
-        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, "PENDING", 0, 10);
+        Page<Order> result = orderService.getAllOrders(CUSTOMER_ID, "PENDING", 0, 10, false);
         assertEquals(1, result.getTotalElements());
     }
 
     @Test
     void getAllOrders_WithInvalidFilter() {
         BusinessException ex = assertThrows(BusinessException.class,
-                () -> orderService.getAllOrders(CUSTOMER_ID, "JUNK_STATUS", 0, 10));
+                () -> orderService.getAllOrders(CUSTOMER_ID, "JUNK_STATUS", 0, 10, false));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, ex.getErrorCode());
+    }
+
+    @Test
+    void scrollOrders_FirstPage_ReturnsCursorOfLastRow() {
+        Window<OrderEntity> window = Window.from(List.of(mockOrderEntity), i -> ScrollPosition.keyset(), true);
+        when(orderRepository.findByCustomerId(eq(CUSTOMER_ID), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(window);
+
+        CursorPage<Order> result = orderService.scrollOrders(CUSTOMER_ID, null, null, 1, false);
+
+        assertEquals(1, result.content().size());
+        assertEquals(new OrderCursor(mockOrderEntity.getCreatedAt(), orderId), OrderCursor.decode(result.nextCursor()));
+        assertNull(result.totalElements());
+        verify(orderRepository, never()).countByCustomerId(any());
+    }
+
+    @Test
+    void scrollOrders_WithCursor_ContinuesAfterIt() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.now().minusHours(1), UUID.randomUUID());
+        when(orderRepository.findByCustomerIdAndStatus(eq(CUSTOMER_ID), eq(OrderStatus.PENDING), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(mockOrderEntity), i -> ScrollPosition.keyset(), false));
+        when(orderRepository.countByCustomerIdAndStatus(CUSTOMER_ID, OrderStatus.PENDING)).thenReturn(11L);
+
+        CursorPage<Order> result = orderService.scrollOrders(CUSTOMER_ID, "pending", cursor.encode(), 10, true);
+
+        ArgumentCaptor<ScrollPosition> position = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(orderRepository).findByCustomerIdAndStatus(eq(CUSTOMER_ID), eq(OrderStatus.PENDING), position.capture(), any(Sort.class), any(Limit.class));
+        KeysetScrollPosition keyset = assertInstanceOf(KeysetScrollPosition.class, position.getValue());
+        assertEquals(cursor.createdAt(), keyset.getKeys().get("createdAt"));
+        assertEquals(cursor.id(), keyset.getKeys().get("id"));
+
+        assertNull(result.nextCursor());
+        assertEquals(11L, result.totalElements());
+    }
+
+    @Test
+    void scrollOrders_InvalidCursor() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> orderService.scrollOrders(CUSTOMER_ID, null, "not-a-cursor", 10, false));
 
         assertEquals(ErrorCode.INVALID_REQUEST, ex.getErrorCode());
     }
@@ -194,19 +479,71 @@ class OrderServiceImplTest {
                 .productId("PROD-1").quantity(5).build();
         mockOrderEntity.setItems(List.of(item));
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         Order result = orderService.cancelOrder(orderId, CUSTOMER_ID);
 
         assertEquals(OrderStatus.CANCELLED, result.status());
-        verify(inventoryService).releaseStock("PROD-1", 5);
+        verify(inventoryService).releaseAll(List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 5)));
+        verify(eventPublisher).publishEvent(new OrdersChangedEvent(List.of(new OrderRef(orderId, CUSTOMER_ID))));
+    }
+
+    @Test
+    void cancelOrder_RolledBack_KeepsStockReserved() {
+        mockOrderEntity.setItems(List.of(OrderItemEntity.builder().productId("PROD-1").quantity(5).build()));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderService.cancelOrder(orderId, CUSTOMER_ID);
+            verify(inventoryService, never()).releaseAll(anyList());
+
+            // e.g. an optimistic lock conflict with the processing job at commit time
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(inventoryService, never()).releaseAll(anyList());
+    }
+
+    @Test
+    void cancelOrder_Committed_ReleasesStockAfterCommit() {
+        mockOrderEntity.setItems(List.of(OrderItemEntity.builder().productId("PROD-1").quantity(5).build()));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderService.cancelOrder(orderId, CUSTOMER_ID);
+            verify(inventoryService, never()).releaseAll(anyList());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(inventoryService).releaseAll(List.of(new CreateOrderCommand.OrderItemCommand("PROD-1", 5)));
+    }
+
+    @Test
+    void cancelOrder_SaveFails_KeepsStockReserved() {
+        mockOrderEntity.setItems(List.of(OrderItemEntity.builder().productId("PROD-1").quantity(5).build()));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(OrderEntity.class, orderId));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> orderService.cancelOrder(orderId, CUSTOMER_ID));
+
+        verify(inventoryService, never()).releaseAll(anyList());
     }
 
     @Test
     void cancelOrder_TimeExpired() {
         mockOrderEntity.setCreatedAt(LocalDateTime.now().minusMinutes(10));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
 
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> orderService.cancelOrder(orderId, CUSTOMER_ID));
@@ -218,11 +555,15 @@ class OrderServiceImplTest {
     @Test
     void cancelOrder_WrongStatus() {
         mockOrderEntity.setStatus(OrderStatus.SHIPPED);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrderEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(mockOrderEntity));
 
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> orderService.cancelOrder(orderId, CUSTOMER_ID));
 
         assertEquals(ErrorCode.INVALID_ORDER_STATUS, ex.getErrorCode());
     }
+
+    private static OrderSummaryView summaryOf(OrderEntity entity) {
+        return new OrderSummaryView(entity.getId(), entity.getCustomerId(), entity.getStatus(), entity.getCreatedAt());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCatalogServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private SnapshotCatalogServiceImpl catalogService;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("catalog").resolve("catalog.snap");
+        catalogService = new SnapshotCatalogServiceImpl(file);
+        catalogService.init();
+    }
+
+    @Test
+    void init_NoSnapshot_WritesDefaultCatalog() {
+        assertEquals("Wireless Mouse", catalogService.getProduct("PROD-1").name());
+        assertEquals(3, catalogService.getProducts(List.of("PROD-1", "PROD-2", "PROD-3")).size());
+    }
+
+    @Test
+    void getProducts_UnknownId_ThrowsNotFound() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> catalogService.getProducts(List.of("PROD-1", "PROD-404")));
+
+        assertEquals(ErrorCode.PRODUCT_NOT_FOUND, ex.getErrorCode());
+    }
+
+    @Test
+    void reloadIfChanged_NewSnapshotPublished_SwapsItIn() {
+        CatalogSnapshot.write(List.of(
+                new Product("PROD-1", "Wireless Mouse", new BigDecimal("19.99")),
+                new Product("PROD-9", "USB Hub", new BigDecimal("12.50"))), file);
+
+        catalogService.reloadIfChanged();
+
+        Map<String, Product> products = catalogService.getProducts(List.of("PROD-1", "PROD-9"));
+        assertEquals(new BigDecimal("19.99"), products.get("PROD-1").price());
+        assertEquals("USB Hub", products.get("PROD-9").name());
+        assertThrows(BusinessException.class, () -> catalogService.getProduct("PROD-2"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.peerislands.ecommerce.service.impl;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedInventoryServiceImplTest {
+
+    private StripedInventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new StripedInventoryServiceImpl();
+        inventoryService.init();
+    }
+
+    @Test
+    void hasStock_ReflectsSeededCounts() {
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertFalse(inventoryService.hasStock("PROD-1", 101));
+        assertFalse(inventoryService.hasStock("UNKNOWN-PROD", 1));
+    }
+
+    @Test
+    void reserveStock_Success() {
+        inventoryService.reserveStock("PROD-2", 20);
+
+        assertTrue(inventoryService.hasStock("PROD-2", 30));
+        assertFalse(inventoryService.hasStock("PROD-2", 31));
+    }
+
+    @Test
+    void reserveStock_InsufficientStock_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveStock("PROD-3", 3));
+
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        assertTrue(inventoryService.hasStock("PROD-3", 2));
+    }
+
+    @Test
+    void reserveStock_ProductNotFound_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveStock("INVALID-ID", 1));
+
+        assertEquals(ErrorCode.INVENTORY_RECORD_NOT_FOUND, ex.getErrorCode());
+    }
+
+    @Test
+    void releaseStock_ProductNotFound_DoesNothing() {
+        assertDoesNotThrow(() -> inventoryService.releaseStock("UNKNOWN", 10));
+    }
+
+    @Test
+    void reserveAll_OneLineShort_RollsBackEarlierLines() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                        new CreateOrderCommand.OrderItemCommand("PROD-2", 5),
+                        new CreateOrderCommand.OrderItemCommand("PROD-3", 3))));
+
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        assertTrue(ex.getMessage().contains("PROD-3"));
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+        assertTrue(inventoryService.hasStock("PROD-2", 50));
+    }
+
+    @Test
+    void reserveAll_UnknownProduct_TouchesNothing() {
+        assertThrows(BusinessException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                        new CreateOrderCommand.OrderItemCommand("INVALID-ID", 1))));
+
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+    }
+
+    @Test
+    void releaseAll_RestoresEveryLine() {
+        List<CreateOrderCommand.OrderItemCommand> basket = List.of(
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 10),
+                new CreateOrderCommand.OrderItemCommand("PROD-1", 5));
+
+        inventoryService.reserveAll(basket);
+        assertFalse(inventoryService.hasStock("PROD-1", 86));
+
+        inventoryService.releaseAll(basket);
+        assertTrue(inventoryService.hasStock("PROD-1", 100));
+    }
+
+    @Test
+    void concurrency_HotSku_NeverOversells() throws InterruptedException {
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            pool.submit(() -> {
+                try {
+                    inventoryService.reserveStock("PROD-1", 1);
+                    reserved.incrementAndGet();
+                } catch (BusinessException ignored) {
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, reserved.get());
+        assertFalse(inventoryService.hasStock("PROD-1", 1));
+    }
+
+    @Test
+    void load_ConcurrentReaders_NeverPairAnIndexWithAnotherLoadsCounters() throws Exception {
+        Map<String, Integer> small = Map.of("PROD-A", 1);
+        Map<String, Integer> large = new LinkedHashMap<>();
+        for (String productId : List.of("PROD-B", "PROD-C", "PROD-D", "PROD-A")) {
+            large.put(productId, 1);
+        }
+        inventoryService.load(small);
+        AtomicBoolean loading = new AtomicBoolean(true);
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        Future<?> loads = loader.submit(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                inventoryService.load(i % 2 == 0 ? large : small);
+            }
+            loading.set(false);
+        });
+
+        try {
+            while (loading.get()) {
+                // PROD-A is the last slot of the large load and the only slot of the small one.
+                assertTrue(inventoryService.hasStock("PROD-A", 1));
+            }
+            loads.get();
+        } finally {
+            loader.shutdownNow();
+        }
+    }
+}
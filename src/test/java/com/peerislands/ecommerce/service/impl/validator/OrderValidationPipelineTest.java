@@ -0,0 +1,73 @@
+package com.peerislands.ecommerce.service.impl.validator;
+
+import com.peerislands.ecommerce.exception.BusinessException;
+import com.peerislands.ecommerce.exception.ErrorCode;
+import com.peerislands.ecommerce.exception.InsufficientStockException;
+import com.peerislands.ecommerce.model.CreateOrderCommand;
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.service.InventoryService;
+import com.peerislands.ecommerce.service.validator.InventoryValidator;
+import com.peerislands.ecommerce.service.validator.OrderValidationPipeline;
+import com.peerislands.ecommerce.service.validator.OrderValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderValidationPipelineTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private OrderValidator otherValidator;
+
+    private final Product product = new Product("PROD-1", "Test Widget", BigDecimal.TEN);
+    private final CreateOrderCommand.OrderItemCommand item = new CreateOrderCommand.OrderItemCommand("PROD-1", 5);
+
+    @Test
+    void validate_SkipsValidatorsSatisfiedByReservation() {
+        OrderValidationPipeline pipeline = new OrderValidationPipeline(
+                List.of(new InventoryValidator(inventoryService), otherValidator), inventoryService);
+
+        pipeline.validate(item, product);
+
+        verify(otherValidator).validate(item, product);
+        verify(inventoryService, never()).hasStock(any(), any());
+    }
+
+    @Test
+    void reserve_InsufficientStock_ReportsProductName() {
+        OrderValidationPipeline pipeline = new OrderValidationPipeline(List.of(), inventoryService);
+        doThrow(new InsufficientStockException("PROD-1")).when(inventoryService).hold(List.of(item), TTL);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pipeline.reserve(List.of(item), Map.of("PROD-1", product), TTL));
+
+        assertEquals(ErrorCode.INSUFFICIENT_STOCK, ex.getErrorCode());
+        assertEquals("Insufficient stock for 'Test Widget'.", ex.getMessage());
+    }
+
+    @Test
+    void reserve_OtherFailure_Propagates() {
+        OrderValidationPipeline pipeline = new OrderValidationPipeline(List.of(), inventoryService);
+        doThrow(new BusinessException(ErrorCode.INVENTORY_RECORD_NOT_FOUND)).when(inventoryService).hold(any(), any());
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pipeline.reserve(List.of(item), Map.of("PROD-1", product), TTL));
+
+        assertEquals(ErrorCode.INVENTORY_RECORD_NOT_FOUND, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,62 @@
+package com.peerislands.ecommerce.tools;
+
+import com.peerislands.ecommerce.model.Product;
+import com.peerislands.ecommerce.service.impl.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotBuilderTest {
+
+    @Test
+    void parse_SkipsHeaderAndBlankLines() {
+        List<Product> products = CatalogSnapshotBuilder.parse(List.of(
+                "id,name,price",
+                "PROD-1,Wireless Mouse,25.00",
+                "",
+                "PROD-2, Keyboard, Mechanical ,150"));
+
+        assertEquals(List.of(
+                new Product("PROD-1", "Wireless Mouse", new BigDecimal("25.00")),
+                new Product("PROD-2", "Keyboard, Mechanical", new BigDecimal("150"))), products);
+    }
+
+    @Test
+    void parse_MalformedLine_FailsWithLineNumber() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshotBuilder.parse(List.of("PROD-1,Mouse,25.00", "PROD-2,Keyboard,n/a")));
+
+        assertTrue(ex.getMessage().startsWith("Line 2:"), ex.getMessage());
+    }
+
+    @Test
+    void parse_HeaderOnlyOnFirstLine() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshotBuilder.parse(List.of("PROD-1,Mouse,25.00", "id,name,price")));
+    }
+
+    @Test
+    void main_WrongArguments_ThrowsUsage() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshotBuilder.main(new String[] {"products.csv"}));
+
+        assertTrue(ex.getMessage().startsWith("Usage:"), ex.getMessage());
+    }
+
+    @Test
+    void main_BuildsSnapshotFromCsv(@TempDir Path dir) throws IOException {
+        Path csv = Files.writeString(dir.resolve("products.csv"), "id,name,price\nPROD-1,Wireless Mouse,25.00\n");
+        Path snapshot = dir.resolve("catalog.snap");
+
+        CatalogSnapshotBuilder.main(new String[] {csv.toString(), snapshot.toString()});
+
+        assertEquals(new Product("PROD-1", "Wireless Mouse", new BigDecimal("25.00")), CatalogSnapshot.open(snapshot).find("PROD-1"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void export_WritesOneJsonLinePerSpan() throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(
+                new TracingProperties(true, 1.0, TracingProperties.Exporter.FILE, 10, file, 10));
+
+        exporter.export(new SpanRecord("00000000000000aa", "00000000000000bb", null, "http.request",
+                1_000L, 250L, "main", Map.of("path", "/api/v1/orders")));
+        exporter.export(new SpanRecord("00000000000000aa", "00000000000000cc", "00000000000000bb", "catalog.lookup",
+                1_010L, 40L, "main", Map.of()));
+        exporter.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("{\"traceId\":\"00000000000000aa\",\"spanId\":\"00000000000000bb\",\"name\":\"http.request\","
+                + "\"startEpochMicros\":1000,\"durationMicros\":250,\"thread\":\"main\",\"tags\":{\"path\":\"/api/v1/orders\"}}", lines.get(0));
+        assertTrue(lines.get(1).contains("\"parentSpanId\":\"00000000000000bb\""));
+    }
+
+    @Test
+    void toJson_EscapesQuotesAndControlCharacters() {
+        String json = FileSpanExporter.toJson(new SpanRecord("a", "b", null, "say \"hi\"\n", 0L, 0L, "t\\1", Map.of()));
+
+        assertTrue(json.contains("\"name\":\"say \\\"hi\\\"\\n\""));
+        assertTrue(json.contains("\"thread\":\"t\\\\1\""));
+    }
+}
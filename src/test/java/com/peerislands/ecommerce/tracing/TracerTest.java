@@ -0,0 +1,107 @@
+package com.peerislands.ecommerce.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    private final InMemorySpanCollector collector = new InMemorySpanCollector(properties(true, 1.0));
+
+    @Test
+    void span_InsideSampledTrace_IsChildOfCurrentSpan() {
+        Tracer tracer = new Tracer(properties(true, 1.0), List.of(collector));
+
+        try (Span root = tracer.startTrace("http.request")) {
+            root.tag("path", "/api/v1/orders");
+            try (Span ignored = tracer.span("catalog.lookup")) {
+                tracer.span("repository.save").close();
+            }
+            tracer.span("inventory.reserve").close();
+        }
+
+        List<SpanRecord> spans = collector.spans();
+        assertEquals(List.of("repository.save", "catalog.lookup", "inventory.reserve", "http.request"),
+                spans.stream().map(SpanRecord::name).toList());
+        SpanRecord root = spans.get(3);
+        assertNull(root.parentSpanId());
+        assertEquals("/api/v1/orders", root.tags().get("path"));
+        assertEquals(spans.get(1).spanId(), spans.get(0).parentSpanId());
+        assertEquals(root.spanId(), spans.get(1).parentSpanId());
+        assertEquals(root.spanId(), spans.get(2).parentSpanId());
+        assertTrue(spans.stream().allMatch(span -> span.traceId().equals(root.traceId())));
+    }
+
+    @Test
+    void span_OutsideTrace_IsNoop() {
+        Tracer tracer = new Tracer(properties(true, 1.0), List.of(collector));
+
+        Span span = tracer.span("catalog.lookup");
+        span.close();
+
+        assertSame(Span.NOOP, span);
+        assertTrue(collector.spans().isEmpty());
+    }
+
+    @Test
+    void startTrace_Disabled_RecordsNothing() {
+        Tracer tracer = new Tracer(properties(false, 1.0), List.of(collector));
+
+        try (Span root = tracer.startTrace("http.request")) {
+            assertFalse(root.isSampled());
+            assertSame(Span.NOOP, tracer.span("catalog.lookup"));
+        }
+
+        assertTrue(collector.spans().isEmpty());
+    }
+
+    @Test
+    void startTrace_ZeroSampleRate_RecordsNothing() {
+        Tracer tracer = new Tracer(properties(true, 0.0), List.of(collector));
+
+        for (int i = 0; i < 100; i++) {
+            tracer.startTrace("http.request").close();
+        }
+
+        assertTrue(collector.spans().isEmpty());
+    }
+
+    @Test
+    void wrap_PropagatesCurrentSpanToWorkerThread() throws Exception {
+        Tracer tracer = new Tracer(properties(true, 1.0), List.of(collector));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Span root = tracer.startTrace("job.process-orders")) {
+            executor.submit(tracer.wrap(() -> tracer.span("job.chunk").close())).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        SpanRecord chunk = collector.spans().get(0);
+        SpanRecord root = collector.spans().get(1);
+        assertEquals("job.chunk", chunk.name());
+        assertEquals(root.spanId(), chunk.parentSpanId());
+        assertNotEquals(root.thread(), chunk.thread());
+    }
+
+    @Test
+    void collector_KeepsOnlyMostRecentSpans() {
+        InMemorySpanCollector small = new InMemorySpanCollector(
+                new TracingProperties(true, 1.0, TracingProperties.Exporter.MEMORY, 2, Path.of("spans.jsonl"), 10));
+        Tracer tracer = new Tracer(properties(true, 1.0), List.of(small));
+
+        tracer.startTrace("a").close();
+        tracer.startTrace("b").close();
+        tracer.startTrace("c").close();
+
+        assertEquals(List.of("b", "c"), small.spans().stream().map(SpanRecord::name).toList());
+    }
+
+    private static TracingProperties properties(boolean enabled, double sampleRate) {
+        return new TracingProperties(enabled, sampleRate, TracingProperties.Exporter.MEMORY, 100, Path.of("spans.jsonl"), 10);
+    }
+}